@@ -0,0 +1,85 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import salt.backend.dto.ResumeDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a fenced provider reply: the streaming {@link ReplyParser} path against the former
+ * trim-and-substring cleanup followed by a {@code String} parse. The resume-shaped replies of the
+ * medium and large fixtures are roughly 90 KB and 1.4 MB. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplyParseBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<ResumeSegments.Segment> segments;
+    private String resumeReply;
+    private String segmentReply;
+
+    @Setup
+    public void setUp() throws Exception {
+        ResumeDto resume = ResumeFixtures.resume(size);
+        segments = ResumeSegments.extract(objectMapper.valueToTree(resume));
+        resumeReply = "```json\n" + objectMapper.writeValueAsString(resume) + "\n```";
+        segmentReply = "```json\n" + SegmentProtocol.encode(segments, objectMapper) + "\n```";
+    }
+
+    @Benchmark
+    public ResumeDto resumeStreaming() throws Exception {
+        return ReplyParser.readResume(resumeReply, objectMapper);
+    }
+
+    @Benchmark
+    public ResumeDto resumeCleanThenParse() throws Exception {
+        return objectMapper.readValue(cleanJsonResponse(resumeReply), ResumeDto.class);
+    }
+
+    @Benchmark
+    public Map<String, String> segmentsStreaming() throws Exception {
+        return SegmentProtocol.decode(segmentReply, segments, objectMapper);
+    }
+
+    @Benchmark
+    public Map<String, String> segmentsCleanThenParse() throws Exception {
+        JsonNode root = objectMapper.readTree(cleanJsonResponse(segmentReply));
+        Map<String, String> byPath = new HashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            JsonNode value = root.get(String.valueOf(i + 1));
+            if (value != null && value.isTextual()) {
+                byPath.put(segments.get(i).path(), value.asText());
+            }
+        }
+        return byPath;
+    }
+
+    // The cleanup that ran on every reply before the streaming parser, kept as the baseline
+    private static String cleanJsonResponse(String response) {
+        String cleaned = response.trim();
+        if (cleaned.startsWith("```json")) {
+            cleaned = cleaned.substring(7);
+        }
+        if (cleaned.startsWith("```")) {
+            cleaned = cleaned.substring(3);
+        }
+        if (cleaned.endsWith("```")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 3);
+        }
+        return cleaned.trim();
+    }
+}
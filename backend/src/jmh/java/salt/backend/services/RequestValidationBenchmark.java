@@ -0,0 +1,50 @@
+package salt.backend.services;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the translate request body, which cascades into every resume section.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestValidationBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TranslationRequestDto request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = TranslationRequestDto.builder()
+                .resumeData(ResumeFixtures.resume(size))
+                .targetLanguage("es")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TranslationRequestDto>> validate() {
+        return validator.validate(request);
+    }
+}
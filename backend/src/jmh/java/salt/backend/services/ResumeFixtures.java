@@ -0,0 +1,101 @@
+package salt.backend.services;
+
+import salt.backend.dto.ResumeDto;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic resumes for the benchmarks, from a one-job resume with a thumbnail to a long
+ * career with a high-resolution photo inlined as a base64 data URL.
+ */
+final class ResumeFixtures {
+
+    private ResumeFixtures() {
+    }
+
+    static ResumeDto resume(String size) {
+        return switch (size) {
+            case "small" -> build(1, 3, 5, 4 * 1024);
+            case "medium" -> build(5, 5, 15, 64 * 1024);
+            case "large" -> build(20, 10, 40, 1024 * 1024);
+            default -> throw new IllegalArgumentException("Unknown fixture size: " + size);
+        };
+    }
+
+    private static ResumeDto build(int jobs, int highlightsPerJob, int skills, int imageBytes) {
+        Random random = new Random(42);
+        return ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .name("Jane Doe")
+                        .label("Senior Software Engineer")
+                        .image("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes(random, imageBytes)))
+                        .email("jane.doe@example.com")
+                        .phone("+46 70 123 45 67")
+                        .url("https://janedoe.dev")
+                        .summary(sentence(random, 60))
+                        .location(ResumeDto.Location.builder().city("Stockholm").countryCode("SE").build())
+                        .profiles(List.of(ResumeDto.Profile.builder()
+                                .network("GitHub").username("janedoe").url("https://github.com/janedoe").build()))
+                        .build())
+                .work(IntStream.range(0, jobs)
+                        .mapToObj(i -> ResumeDto.Work.builder()
+                                .name("Company " + i)
+                                .position("Software Engineer " + i)
+                                .url("https://company" + i + ".example.com")
+                                .startDate("20" + (10 + i % 10) + "-01-01")
+                                .endDate("20" + (11 + i % 10) + "-06-30")
+                                .summary(sentence(random, 40))
+                                .highlights(sentences(random, highlightsPerJob, 18))
+                                .build())
+                        .toList())
+                .education(List.of(ResumeDto.Education.builder()
+                        .institution("KTH Royal Institute of Technology")
+                        .area("Computer Science")
+                        .studyType("Master")
+                        .startDate("2008-09-01")
+                        .endDate("2013-06-01")
+                        .courses(sentences(random, 4, 4))
+                        .build()))
+                .skills(IntStream.range(0, skills)
+                        .mapToObj(i -> ResumeDto.Skill.builder()
+                                .name("Skill " + i)
+                                .level("Advanced")
+                                .keywords(List.of("Java", "Spring", "Kubernetes"))
+                                .build())
+                        .toList())
+                .meta(ResumeDto.Meta.builder()
+                        .version("v1")
+                        .sectionHeaders(ResumeDto.SectionHeaders.builder()
+                                .work("Work Experience").education("Education").skills("Skills").build())
+                        .build())
+                .build();
+    }
+
+    private static List<String> sentences(Random random, int count, int words) {
+        List<String> sentences = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sentences.add(sentence(random, words));
+        }
+        return sentences;
+    }
+
+    private static String sentence(Random random, int words) {
+        String[] vocabulary = {"designed", "built", "scalable", "services", "team", "led", "migration",
+                "latency", "reduced", "customers", "platform", "delivered", "reliable", "architecture"};
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sentence.append(i == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static byte[] bytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
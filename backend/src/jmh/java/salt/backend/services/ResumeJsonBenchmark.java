@@ -0,0 +1,43 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import salt.backend.dto.ResumeDto;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of {@link ResumeDto}: the request body binding and response writing of every
+ * translate call, dominated by {@code basics.image} on large resumes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeJsonBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResumeDto resume;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        resume = ResumeFixtures.resume(size);
+        json = objectMapper.writeValueAsBytes(resume);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(resume);
+    }
+
+    @Benchmark
+    public ResumeDto deserialize() throws Exception {
+        return objectMapper.readValue(json, ResumeDto.class);
+    }
+}
@@ -0,0 +1,62 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound steps around the provider call: building the prompts and restoring immutable fields
+ * on the translated resume. Reply parsing is covered by {@link ReplyParseBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslationPipelineBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TranslationService service;
+    private ResumeDto source;
+    private ResumeDto translated;
+    private String resumeJson;
+    private List<ResumeSegments.Segment> segments;
+
+    @Setup
+    public void setUp() throws Exception {
+        // No provider call is made, so the key is never used
+        TranslationProperties properties = new TranslationProperties();
+        properties.getGemini().setApiKeys(List.of("benchmark-key"));
+        service = new TranslationService(properties);
+        source = ResumeFixtures.resume(size);
+        resumeJson = objectMapper.writeValueAsString(source);
+        JsonNode tree = objectMapper.valueToTree(source);
+        segments = ResumeSegments.extract(tree);
+        translated = objectMapper.readValue(resumeJson, ResumeDto.class);
+        translated.getBasics().setImage(null);
+    }
+
+    @Benchmark
+    public String buildTranslationPrompt() {
+        return TranslationService.buildTranslationPrompt(resumeJson, "es");
+    }
+
+    @Benchmark
+    public String buildSegmentPrompt() throws Exception {
+        return TranslationService.buildSegmentPrompt(SegmentProtocol.encode(segments, objectMapper), "es");
+    }
+
+    @Benchmark
+    public ResumeDto preserveImmutableFields() {
+        return service.preserveImmutableFields(source, translated);
+    }
+}
@@ -18,7 +18,9 @@ public class CorsConfig implements WebMvcConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins(origins)
                 .allowedMethods("GET", "POST", "OPTIONS")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                // Translation jobs answer with a Location (202) or Retry-After (429) the frontend reads
+                .exposedHeaders("Location", "Retry-After");
                 // If you need cookies/Authorization headers, also add: .allowCredentials(true)
     }
 }
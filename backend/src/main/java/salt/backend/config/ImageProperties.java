@@ -0,0 +1,25 @@
+package salt.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the content-addressed image store, bound from the {@code images.*} namespace.
+ */
+@Data
+@ConfigurationProperties(prefix = "images")
+public class ImageProperties {
+
+    // Uploaded images are kept here, one file per content hash
+    private String directory = "./image-store";
+
+    // Largest image accepted by POST /api/images
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    // Disk space for stored images; new uploads beyond it are refused, stored images are never deleted
+    private DataSize maxDiskSize = DataSize.ofGigabytes(1);
+
+    // Recently served images kept in memory; the least recently used are dropped first
+    private DataSize memoryCacheSize = DataSize.ofMegabytes(32);
+}
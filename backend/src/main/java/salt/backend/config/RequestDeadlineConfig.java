@@ -0,0 +1,93 @@
+package salt.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import salt.backend.services.RequestDeadline;
+
+import java.time.Duration;
+
+/**
+ * Gives every synchronous translation request a {@link RequestDeadline}: the client's
+ * {@code X-Request-Timeout} (milliseconds, capped at {@code translation.deadline.max-timeout}) or the
+ * configured default. When the async request times out or fails, e.g. because the client went
+ * away, the deadline is cancelled so the translation stops calling providers.
+ */
+@Slf4j
+@Configuration
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    // Lets the deadline answer with 504 before the container's own async timeout fires
+    public static final Duration ASYNC_TIMEOUT_SLACK = Duration.ofSeconds(5);
+
+    private final TranslationProperties.Deadline settings;
+
+    public RequestDeadlineConfig(TranslationProperties properties) {
+        this.settings = properties.getDeadline();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.after(timeoutOf(request)));
+                return true;
+            }
+        }).addPathPatterns("/api/translate", "/api/translate/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(settings.getMaxTimeout().plus(ASYNC_TIMEOUT_SLACK).toMillis());
+        configurer.registerDeferredResultInterceptors(new DeferredResultProcessingInterceptor() {
+            @Override
+            public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+                cancel(request);
+                return true;
+            }
+
+            @Override
+            public <T> boolean handleError(NativeWebRequest request, DeferredResult<T> deferredResult, Throwable t) {
+                cancel(request);
+                return true;
+            }
+        });
+    }
+
+    private Duration timeoutOf(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null || header.isBlank()) {
+            return settings.getDefaultTimeout();
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis > 0) {
+                Duration requested = Duration.ofMillis(millis);
+                return requested.compareTo(settings.getMaxTimeout()) > 0 ? settings.getMaxTimeout() : requested;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default below
+        }
+        log.debug("Ignoring invalid {} header: {}", TIMEOUT_HEADER, header);
+        return settings.getDefaultTimeout();
+    }
+
+    private static void cancel(NativeWebRequest request) {
+        if (request.getAttribute(RequestDeadline.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestDeadline deadline) {
+            log.info("🛑 Client stopped waiting; cancelling its translation");
+            deadline.cancel();
+        }
+    }
+}
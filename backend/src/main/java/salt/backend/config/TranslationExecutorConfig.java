@@ -0,0 +1,26 @@
+package salt.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import salt.backend.services.TranslationLimiter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class TranslationExecutorConfig {
+
+    // Provider calls mostly wait on the network, so each one gets its own virtual thread
+    @Bean(destroyMethod = "close")
+    public ExecutorService translationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // Bounds concurrent translations independently of the servlet container's thread pool
+    @Bean
+    public TranslationLimiter translationLimiter(ExecutorService translationExecutor, TranslationProperties properties) {
+        TranslationProperties.Async async = properties.getAsync();
+        return new TranslationLimiter(translationExecutor, async.getMaxInFlight(), async.getMaxQueued(),
+                async.getQueueTimeout());
+    }
+}
@@ -0,0 +1,283 @@
+package salt.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tunables for the translation pipeline, bound from the {@code translation.*} namespace.
+ * Every field has a working default so the service can also be constructed without Spring.
+ */
+@Data
+@ConfigurationProperties(prefix = "translation")
+public class TranslationProperties {
+
+    // How resume text travels to the model: a flat numbered segment list, or the legacy full JSON round trip
+    private PromptFormat promptFormat = PromptFormat.SEGMENTS;
+
+    private Providers providers = new Providers();
+
+    private Gemini gemini = new Gemini();
+
+    private Scheduler scheduler = new Scheduler();
+
+    private Hedging hedging = new Hedging();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Cache cache = new Cache();
+
+    private Memory memory = new Memory();
+
+    private Blobs blobs = new Blobs();
+
+    private Disk disk = new Disk();
+
+    private Coalescing coalescing = new Coalescing();
+
+    private FanOut fanOut = new FanOut();
+
+    private Batch batch = new Batch();
+
+    private Async async = new Async();
+
+    private Deadline deadline = new Deadline();
+
+    private Jobs jobs = new Jobs();
+
+    private Metrics metrics = new Metrics();
+
+    public enum PromptFormat {
+        SEGMENTS,
+        JSON
+    }
+
+    public enum ProviderType {
+        GEMINI,
+        LOCAL
+    }
+
+    public enum LocalMode {
+        IDENTITY,
+        DICTIONARY
+    }
+
+    @Data
+    public static class Providers {
+        // Providers tried in order; a call that fails on one moves on to the next
+        private List<ProviderType> chain = List.of(ProviderType.GEMINI);
+
+        // A provider whose latency or error-rate EWMA passes these limits is moved to the back of the chain
+        private Duration maxLatency = Duration.ofSeconds(30);
+
+        private double maxErrorRate = 0.5;
+
+        private Duration demotion = Duration.ofSeconds(30);
+
+        private Local local = new Local();
+    }
+
+    @Data
+    public static class Local {
+        // identity answers with the source text; dictionary also replaces exact matches per target language
+        private LocalMode mode = LocalMode.IDENTITY;
+
+        private Map<String, Map<String, String>> dictionary = new HashMap<>();
+    }
+
+    @Data
+    public static class Gemini {
+        // API keys, one pooled client each; empty reads GOOGLE_API_KEY, GOOGLE_API_KEY_TWO, ... from the environment
+        private List<String> apiKeys = new ArrayList<>();
+
+        // Model used for every translation call
+        private String model = "gemini-2.5-flash";
+
+        // Overrides the Generative Language API endpoint, e.g. to point the pool at a local stand-in
+        private String baseUrl;
+
+        // HTTP timeout per provider call in milliseconds; 0 keeps the SDK default
+        private int timeoutMs = 0;
+
+        // Consecutive failures after which a pooled client is reported as unhealthy
+        private int unhealthyAfterFailures = 3;
+    }
+
+    @Data
+    public static class Scheduler {
+        // How long a key is skipped after Gemini answers 429 / RESOURCE_EXHAUSTED
+        private Duration rateLimitCooldown = Duration.ofSeconds(60);
+
+        // Consecutive non-quota failures that open a key's circuit, and how long it stays open
+        private int circuitOpenAfterFailures = 5;
+
+        private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+        // Weight of the newest sample in the per-key latency EWMA
+        private double latencySmoothing = 0.2;
+    }
+
+    @Data
+    public static class Hedging {
+        // Start a second attempt on another key when the first is slower than a percentile of recent calls
+        private boolean enabled = false;
+
+        private double percentile = 0.95;
+
+        // Floor for the hedge delay, so fast calls are not hedged on noise
+        private Duration minDelay = Duration.ofMillis(500);
+
+        // Hedged attempts allowed, as a percentage of calls
+        private double budgetPercent = 10;
+
+        // Recent call latencies the percentile is taken from, and how many are needed before hedging starts
+        private int window = 200;
+
+        private int minSamples = 20;
+    }
+
+    @Data
+    public static class RateLimit {
+        // Client-side quota per API key; calls over it wait for capacity instead of hitting 429
+        private boolean enabled = true;
+
+        private int requestsPerMinute = 60;
+
+        // Estimated prompt plus reply tokens per minute
+        private int tokensPerMinute = 1_000_000;
+
+        // Also the size of each key's pool of call threads, so it bounds a key's calls with the limiter off too
+        private int maxInFlightPerKey = 8;
+
+        // Calls allowed to wait for one key, and how long each may wait before trying the next key (never past
+        // the request deadline)
+        private int maxQueuedPerKey = 50;
+
+        private Duration maxWait = Duration.ofSeconds(20);
+    }
+
+    @Data
+    public static class Cache {
+        // In-memory cache of whole translated resumes in front of the provider call
+        private boolean enabled = true;
+
+        private int maxEntries = 1000;
+
+        // Serialized JSON held in memory; the least recently used results are dropped first
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        private Duration ttl = Duration.ofHours(12);
+    }
+
+    @Data
+    public static class Memory {
+        // Segment-level translation memory shared across resumes
+        private boolean enabled = true;
+
+        private int maxEntries = 50_000;
+    }
+
+    @Data
+    public static class Blobs {
+        // Data URLs and base64 runs at least this many characters long are kept out of the prompt
+        private boolean enabled = true;
+
+        private int minBlobLength = 256;
+
+        // Values larger than this are never sent, whatever they contain, and keep their source text
+        private DataSize maxValueSize = DataSize.ofKilobytes(16);
+    }
+
+    @Data
+    public static class Disk {
+        // Restart-surviving tier behind the resume cache and translation memory
+        private boolean enabled = false;
+
+        private String directory = "./translation-cache";
+
+        // Least recently used entries are dropped when the log file grows past this
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+    }
+
+    @Data
+    public static class Coalescing {
+        // Identical concurrent requests (resume fingerprint + language) share one provider call
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class FanOut {
+        // Translate sections (or chunks of large sections) as concurrent provider calls
+        private boolean enabled = false;
+
+        // Only fan out when at least this many segments need the provider
+        private int minSegments = 30;
+
+        private int maxSegmentsPerUnit = 20;
+
+        private int maxParallelism = 6;
+    }
+
+    @Data
+    public static class Batch {
+        // Languages of one batch request that are translated at the same time
+        private int maxParallelism = 4;
+    }
+
+    @Data
+    public static class Async {
+        // Translations allowed to run at the same time across all endpoints
+        private int maxInFlight = 32;
+
+        // Translations allowed to wait for a slot; beyond this requests are rejected with 503
+        private int maxQueued = 200;
+
+        private Duration queueTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Deadline {
+        // Time budget of a request that does not send an X-Request-Timeout header
+        private Duration defaultTimeout = Duration.ofSeconds(60);
+
+        // Upper bound for the budget a client can ask for with X-Request-Timeout
+        private Duration maxTimeout = Duration.ofMinutes(3);
+    }
+
+    @Data
+    public static class Jobs {
+        // Background translation jobs running at the same time
+        private int workers = 8;
+
+        // Jobs waiting for a worker; beyond this new jobs are rejected with 429
+        private int queueCapacity = 100;
+
+        // Retry-After sent with a 429 when the queue is full
+        private Duration retryAfter = Duration.ofSeconds(10);
+
+        // How long finished jobs and their results can still be fetched
+        private Duration retention = Duration.ofMinutes(15);
+
+        // Finished jobs kept at most; the oldest results are dropped first, even within the retention
+        private int maxRetained = 200;
+
+        // Time budget of one job's translation, like a request's deadline
+        private Duration timeout = Duration.ofMinutes(3);
+    }
+
+    @Data
+    public static class Metrics {
+        // Target languages tagged by name on translation.requests; any other is tagged "other", since the
+        // value comes from the client and every tag adds a latency histogram
+        private List<String> languages = new ArrayList<>(List.of(
+                "zh", "es", "en", "hi", "ar", "pt", "bn", "ru", "ja", "pa", "de", "jv", "ko", "fr", "tr",
+                "chinese", "spanish", "english", "hindi", "arabic", "portuguese", "bengali", "russian",
+                "japanese", "punjabi", "german", "javanese", "korean", "french", "turkish"));
+    }
+}
@@ -0,0 +1,84 @@
+package salt.backend.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import salt.backend.config.ImageProperties;
+import salt.backend.dto.ImageDto;
+import salt.backend.services.ImageStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * REST controller for resume photos. An image is uploaded once and the resume carries only the short
+ * {@code /api/images/{hash}} reference in {@code basics.image} instead of the whole data URL.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Stored images never change, so browsers and proxies may keep them for a year without revalidating
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final ImageStore imageStore;
+    private final ImageProperties properties;
+
+    public ImageController(ImageStore imageStore, ImageProperties properties) {
+        this.imageStore = imageStore;
+        this.properties = properties;
+    }
+
+    /**
+     * Stores the raw image bytes of the request body and answers 201 with the reference. Bodies over
+     * {@code images.max-size} get 413, anything that is not a PNG, JPEG, GIF or WebP image gets 415, and a
+     * new image while the store is at {@code images.max-disk-size} gets 507.
+     */
+    @PostMapping(consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImageDto> upload(InputStream body) throws IOException {
+        long maxSize = properties.getMaxSize().toBytes();
+        byte[] content = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSize + 1));
+        if (content.length > maxSize) {
+            log.warn("Rejected image upload larger than {} bytes", maxSize);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        ImageStore.Image image;
+        try {
+            image = imageStore.put(content);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        } catch (ImageStore.StoreFullException e) {
+            return ResponseEntity.status(HttpStatus.INSUFFICIENT_STORAGE).build();
+        }
+        String url = "/api/images/" + image.hash();
+        return ResponseEntity.created(URI.create(url))
+                .eTag(image.hash())
+                .body(ImageDto.builder()
+                        .hash(image.hash())
+                        .url(url)
+                        .contentType(image.contentType())
+                        .size(content.length)
+                        .build());
+    }
+
+    /**
+     * Serves a stored image with an ETag and immutable caching; a matching If-None-Match gets 304.
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<byte[]> get(@PathVariable String hash) {
+        return imageStore.get(hash)
+                .map(image -> ResponseEntity.ok()
+                        .eTag(image.hash())
+                        .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                        .contentType(MediaType.parseMediaType(image.contentType()))
+                        .body(image.content()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
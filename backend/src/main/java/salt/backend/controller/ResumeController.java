@@ -5,13 +5,30 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 import jakarta.validation.Valid;
+import salt.backend.config.RequestDeadlineConfig;
+import salt.backend.dto.BatchTranslationRequestDto;
+import salt.backend.dto.BatchTranslationResponseDto;
+import salt.backend.dto.DeltaTranslationRequestDto;
+import salt.backend.dto.KeyPoolStatusDto;
 import salt.backend.dto.TranslationRequestDto;
 import salt.backend.dto.ResumeDto;
+import salt.backend.services.RequestDeadline;
+import salt.backend.services.TranslationLimiter;
 import salt.backend.services.TranslationService;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * REST controller for handling resume translation requests.
  * Accepts resume data from the frontend and returns translated resume.
@@ -22,29 +39,166 @@ import salt.backend.services.TranslationService;
 public class ResumeController {
 
     private final TranslationService translationService;
+    private final TranslationLimiter translationLimiter;
 
-    public ResumeController(TranslationService translationService) {
+    public ResumeController(TranslationService translationService, TranslationLimiter translationLimiter) {
         this.translationService = translationService;
+        this.translationLimiter = translationLimiter;
     }
 
+    /**
+     * Translations run asynchronously on virtual threads, so the servlet thread is released while
+     * Gemini is working. Requests beyond the in-flight and queue limits get 503, requests that run
+     * out of their deadline ({@code X-Request-Timeout} or the configured default) get 504.
+     */
     @PostMapping(path = "/translate", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResumeDto> translateResume(@Valid @RequestBody TranslationRequestDto request) {
+    public CompletableFuture<ResponseEntity<ResumeDto>> translateResume(@Valid @RequestBody TranslationRequestDto request) {
+        RequestDeadline deadline = currentDeadline();
         log.info("🚀 Received translation request for language: {}", request.getTargetLanguage());
 
-        try {
-            ResumeDto translatedResume = translationService.translateResume(request);
-            log.info("📝 Translation completed successfully for language: {}", request.getTargetLanguage());
-            return ResponseEntity.ok(translatedResume);
+        return translationLimiter.submit(() -> deadline.call(() -> translationService.translateResume(request)))
+                .handle((translatedResume, error) -> {
+                    if (error != null) {
+                        log.error("❌ Error processing translation request for language: {}", request.getTargetLanguage(), unwrap(error));
+                        return errorResponse(error);
+                    }
+                    log.info("📝 Translation completed successfully for language: {}", request.getTargetLanguage());
+                    return ResponseEntity.ok(translatedResume);
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Error processing translation request for language: {}", request.getTargetLanguage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    /**
+     * Incremental variant of /translate: retranslates only fields changed since the previous translation.
+     */
+    @PostMapping(path = "/translate/delta", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<ResumeDto>> translateDelta(@Valid @RequestBody DeltaTranslationRequestDto request) {
+        RequestDeadline deadline = currentDeadline();
+        log.info("🚀 Received delta translation request for language: {}", request.getTargetLanguage());
+
+        return translationLimiter.submit(() -> deadline.call(() -> translationService.translateDelta(request)))
+                .handle((translatedResume, error) -> {
+                    if (error != null) {
+                        log.error("❌ Error processing delta translation request for language: {}", request.getTargetLanguage(), unwrap(error));
+                        return errorResponse(error);
+                    }
+                    log.info("📝 Delta translation completed successfully for language: {}", request.getTargetLanguage());
+                    return ResponseEntity.ok(translatedResume);
+                });
     }
 
+    /**
+     * Translates one resume into several languages. Languages that fail are listed in "errors"
+     * while the others are still returned; the response is 500 only if every language failed.
+     */
+    @PostMapping(path = "/translate/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<BatchTranslationResponseDto>> translateBatch(
+            @Valid @RequestBody BatchTranslationRequestDto request) {
+        RequestDeadline deadline = currentDeadline();
+        log.info("🚀 Received batch translation request for languages: {}", request.getTargetLanguages());
+
+        return translationLimiter.submit(() -> deadline.call(() -> translationService.translateBatch(request)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("❌ Error processing batch translation request for languages: {}", request.getTargetLanguages(), unwrap(error));
+                        return errorResponse(error);
+                    }
+                    if (response.getTranslations().isEmpty()) {
+                        log.error("❌ Batch translation failed for every language: {}", request.getTargetLanguages());
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+                    }
+                    log.info("📝 Batch translation completed: {} succeeded, {} failed",
+                            response.getTranslations().size(), response.getErrors().size());
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    /**
+     * Streams the translation as Server-Sent Events: one event per top-level section, named after the
+     * section ("basics", "work", ...), followed by a "complete" event with the whole resume.
+     * Failures are reported as an "error" event.
+     */
+    @PostMapping(path = "/translate/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter translateResumeStream(@Valid @RequestBody TranslationRequestDto request) {
+        log.info("🚀 Received streaming translation request for language: {}", request.getTargetLanguage());
+        RequestDeadline deadline = currentDeadline();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs(deadline));
+
+        translationLimiter.submit(() -> {
+            ResumeDto translatedResume = deadline.call(() -> translationService.translateResumeStream(request, (section, value) ->
+                    emitter.send(SseEmitter.event().name(section).data(value, MediaType.APPLICATION_JSON))));
+            emitter.send(SseEmitter.event().name("complete").data(translatedResume, MediaType.APPLICATION_JSON));
+            emitter.complete();
+            log.info("📝 Streaming translation completed successfully for language: {}", request.getTargetLanguage());
+            return translatedResume;
+        }).exceptionally(error -> {
+            log.error("❌ Error processing streaming translation request for language: {}", request.getTargetLanguage(), unwrap(error));
+            try {
+                emitter.send(SseEmitter.event().name("error").data("Translation failed"));
+                emitter.complete();
+            } catch (IOException | IllegalStateException sendFailure) {
+                // Client is already gone
+                emitter.completeWithError(unwrap(error));
+            }
+            return null;
+        });
+        return emitter;
+    }
+
+    /**
+     * State of every API key: health, latency, and how many calls wait for or use its quota, plus the
+     * state of every provider in the failover chain.
+     */
+    @GetMapping("/keys")
+    public ResponseEntity<KeyPoolStatusDto> keys() {
+        return ResponseEntity.ok(KeyPoolStatusDto.builder()
+                .keys(translationService.keyStatus())
+                .rateLimits(translationService.rateLimitStats())
+                .providers(translationService.providerStatus())
+                .build());
+    }
 
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Resume Translation API is running");
     }
+
+    private static <T> ResponseEntity<T> errorResponse(Throwable error) {
+        if (unwrap(error) instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (unwrap(error) instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    /**
+     * The SSE connection outlives the request's deadline by the async slack, so the translation can
+     * still report its timeout as an "error" event. Without a deadline the configured async timeout
+     * ({@code translation.deadline.max-timeout} plus slack) applies.
+     */
+    private static Long streamTimeoutMs(RequestDeadline deadline) {
+        long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos == Long.MAX_VALUE) {
+            return null;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, remainingNanos))
+                + RequestDeadlineConfig.ASYNC_TIMEOUT_SLACK.toMillis();
+    }
+
+    /**
+     * Deadline the request interceptor attached to this request, or none outside a web request.
+     */
+    private static RequestDeadline currentDeadline() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object deadline = attributes != null
+                ? attributes.getAttribute(RequestDeadline.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return deadline instanceof RequestDeadline requestDeadline ? requestDeadline : RequestDeadline.none();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 }
@@ -0,0 +1,66 @@
+package salt.backend.controller;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.TranslationJobDto;
+import salt.backend.dto.TranslationRequestDto;
+import salt.backend.services.TranslationJobService;
+
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for background translation jobs.
+ * A job is submitted with the same body as /api/translate and polled until it has finished.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/api/translate/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+public class TranslationJobController {
+
+    private final TranslationJobService jobService;
+    private final TranslationProperties properties;
+
+    public TranslationJobController(TranslationJobService jobService, TranslationProperties properties) {
+        this.jobService = jobService;
+        this.properties = properties;
+    }
+
+    /**
+     * Queues the translation and answers 202 with the job right away; 429 with Retry-After when
+     * the job queue is full.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TranslationJobDto> submit(@Valid @RequestBody TranslationRequestDto request) {
+        log.info("🚀 Received translation job for language: {}", request.getTargetLanguage());
+
+        try {
+            TranslationJobDto job = jobService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/translate/jobs/" + job.getId()))
+                    .body(job);
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(Math.max(1, properties.getJobs().getRetryAfter().toSeconds())))
+                    .build();
+        }
+    }
+
+    /**
+     * Current state of a job; once it has succeeded the translated resume is included.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TranslationJobDto> get(@PathVariable String id) {
+        return jobService.find(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,32 @@
+package salt.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for translating one resume into several languages in a single request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTranslationRequestDto {
+
+    @Valid
+    @NotNull(message = "Resume data is required")
+    private ResumeDto resumeData;
+
+    @NotEmpty(message = "At least one language code is required")
+    @Size(max = 20, message = "At most 20 languages per request")
+    private List<@NotBlank(message = "Language code is required") String> targetLanguages;
+}
@@ -0,0 +1,24 @@
+package salt.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for the result of a batch translation, keyed by requested language code.
+ * A language appears either in translations or in errors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTranslationResponseDto {
+
+    private Map<String, ResumeDto> translations;
+
+    // Languages whose translation failed, with a short reason
+    private Map<String, String> errors;
+}
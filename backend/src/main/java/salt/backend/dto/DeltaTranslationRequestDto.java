@@ -0,0 +1,36 @@
+package salt.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for incremental translation requests from the editor.
+ * Carries the previously translated pair so only edited text has to be retranslated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeltaTranslationRequestDto {
+
+    // Source resume the previous translation was produced from
+    @Valid
+    private ResumeDto previousResumeData;
+
+    // Translation returned for previousResumeData
+    @Valid
+    private ResumeDto previousTranslation;
+
+    @Valid
+    @NotNull(message = "Resume data is required")
+    private ResumeDto resumeData;
+
+    @NotBlank(message = "Language code is required")
+    private String targetLanguage;
+}
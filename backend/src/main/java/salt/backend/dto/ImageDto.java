@@ -0,0 +1,25 @@
+package salt.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing a stored image. {@code url} is the short reference to put in {@code basics.image}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDto {
+
+    // SHA-256 of the image bytes, hex encoded
+    private String hash;
+
+    private String url;
+
+    private String contentType;
+
+    private long size;
+}
@@ -0,0 +1,29 @@
+package salt.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import salt.backend.services.KeyRateLimiter;
+import salt.backend.services.KeyScheduler;
+import salt.backend.services.ProviderChain;
+
+import java.util.List;
+
+/**
+ * DTO describing the API key pool, used to size it: scheduling state and rate limiter load per key,
+ * plus the state of every provider in the failover chain. Never contains the keys themselves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeyPoolStatusDto {
+
+    private List<KeyScheduler.KeyStatus> keys;
+
+    // Null when the per-key rate limiter is disabled
+    private List<KeyRateLimiter.KeyStats> rateLimits;
+
+    private List<ProviderChain.ProviderStatus> providers;
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 
 /**
@@ -52,6 +54,11 @@ public class ResumeDto {
     public static class Basics {
         private String name;
         private String label;
+
+        // A URL such as the /api/images/{hash} reference from POST /api/images, never the image itself
+        @Size(max = 2048, message = "basics.image must be a URL")
+        @Pattern(regexp = "(?!data:).*", flags = {Pattern.Flag.CASE_INSENSITIVE, Pattern.Flag.DOTALL},
+                message = "basics.image must be a URL; upload the image to /api/images and send its reference")
         private String image;
         private String email;
         private String phone;
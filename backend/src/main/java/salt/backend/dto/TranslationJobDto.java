@@ -0,0 +1,42 @@
+package salt.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO describing an asynchronous translation job.
+ * The result is only present once the job has succeeded, the error only once it has failed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TranslationJobDto {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private String id;
+
+    private Status status;
+
+    private String targetLanguage;
+
+    private Instant createdAt;
+
+    private Instant completedAt;
+
+    private ResumeDto result;
+
+    private String error;
+}
@@ -0,0 +1,153 @@
+package salt.backend.services;
+
+import salt.backend.config.TranslationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps binary payloads out of the prompt. A segment whose whole value is a blob (a data URL or an
+ * unbroken base64 run) or is larger than {@code translation.blobs.max-value-size} is not sent at all and
+ * keeps its source value. A blob inside running text is swapped for a short placeholder such as
+ * {@code [[blob:1]]}, which is replaced with the original again when the translation is written back.
+ */
+final class BlobExternalizer {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\[\\[blob:(\\d{1,6})]]");
+
+    private final boolean enabled;
+    private final int minBlobLength;
+    private final long maxValueBytes;
+    private final Pattern blob;
+
+    BlobExternalizer(TranslationProperties.Blobs settings) {
+        this.enabled = settings.isEnabled();
+        this.minBlobLength = Math.max(1, settings.getMinBlobLength());
+        this.maxValueBytes = settings.getMaxValueSize().toBytes();
+        this.blob = Pattern.compile("data:[^\\s,]{0,100},[^\\s\"'<>()\\[\\]]+|[A-Za-z0-9+/_=-]{" + minBlobLength + ",}");
+    }
+
+    /**
+     * The segments as they go to the provider, with blobs left out or replaced by placeholders.
+     */
+    Externalized externalize(List<ResumeSegments.Segment> segments) {
+        if (!enabled) {
+            return Externalized.unchanged(segments);
+        }
+        List<ResumeSegments.Segment> kept = new ArrayList<>(segments.size());
+        Map<String, Inline> inline = new HashMap<>();
+        long valueBytes = 0;
+        long inlineBytes = 0;
+        for (ResumeSegments.Segment segment : segments) {
+            String text = segment.text();
+            long bytes = PromptPayload.utf8Length(text);
+            if (bytes > maxValueBytes || isBlob(text.strip())) {
+                valueBytes += bytes;
+                continue;
+            }
+            Matcher matcher = blob.matcher(text);
+            if (!matcher.find()) {
+                kept.add(segment);
+                continue;
+            }
+            List<String> blobs = new ArrayList<>(1);
+            StringBuilder replaced = new StringBuilder(text.length());
+            do {
+                if (matcher.group().length() < minBlobLength) {
+                    continue;
+                }
+                blobs.add(matcher.group());
+                String placeholder = placeholder(blobs.size());
+                matcher.appendReplacement(replaced, Matcher.quoteReplacement(placeholder));
+                inlineBytes += PromptPayload.utf8Length(matcher.group()) - placeholder.length();
+            } while (matcher.find());
+            if (blobs.isEmpty()) {
+                kept.add(segment);
+                continue;
+            }
+            matcher.appendTail(replaced);
+            kept.add(new ResumeSegments.Segment(segment.path(), replaced.toString()));
+            inline.put(segment.path(), new Inline(text, blobs));
+        }
+        return new Externalized(kept, inline, valueBytes, inlineBytes);
+    }
+
+    private boolean isBlob(String text) {
+        return text.length() >= minBlobLength && blob.matcher(text).matches();
+    }
+
+    private static String placeholder(int number) {
+        return "[[blob:" + number + "]]";
+    }
+
+    record Inline(String source, List<String> blobs) {
+    }
+
+    /**
+     * The segments to translate and what is needed to put their blobs back.
+     *
+     * @param valueBytes  bytes of values that are not sent at all
+     * @param inlineBytes bytes saved by replacing blobs inside text with placeholders
+     */
+    record Externalized(List<ResumeSegments.Segment> segments, Map<String, Inline> inline,
+                        long valueBytes, long inlineBytes) {
+
+        static Externalized unchanged(List<ResumeSegments.Segment> segments) {
+            return new Externalized(segments, Map.of(), 0, 0);
+        }
+
+        /**
+         * The translation of {@code path} with its placeholders replaced by the original blobs. A
+         * translation that lost a placeholder falls back to the source text.
+         */
+        String reattach(String path, String translation) {
+            Inline blobs = inline.get(path);
+            if (blobs == null || translation == null) {
+                return translation;
+            }
+            boolean[] seen = new boolean[blobs.blobs().size()];
+            Matcher matcher = PLACEHOLDER.matcher(translation);
+            StringBuilder restored = new StringBuilder(translation.length());
+            while (matcher.find()) {
+                int index = Integer.parseInt(matcher.group(1)) - 1;
+                if (index < 0 || index >= seen.length) {
+                    return blobs.source();
+                }
+                seen[index] = true;
+                matcher.appendReplacement(restored, Matcher.quoteReplacement(blobs.blobs().get(index)));
+            }
+            matcher.appendTail(restored);
+            for (boolean found : seen) {
+                if (!found) {
+                    return blobs.source();
+                }
+            }
+            return restored.toString();
+        }
+
+        /**
+         * The inverse of {@link #reattach}: the translation of {@code path} with its blobs swapped back for
+         * placeholders, or null when a blob is missing from it.
+         */
+        String detach(String path, String translation) {
+            Inline blobs = inline.get(path);
+            if (blobs == null || translation == null) {
+                return translation;
+            }
+            String detached = translation;
+            for (int i = 0; i < blobs.blobs().size(); i++) {
+                String blob = blobs.blobs().get(i);
+                int at = detached.indexOf(blob);
+                if (at < 0) {
+                    return null;
+                }
+                detached = detached.substring(0, at) + placeholder(i + 1) + detached.substring(at + blob.length());
+            }
+            return detached;
+        }
+    }
+}
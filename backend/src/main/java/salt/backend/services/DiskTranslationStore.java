@@ -0,0 +1,417 @@
+package salt.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Restart-surviving key/value store on local disk, used as the second tier behind the in-memory
+ * translation cache and translation memory.
+ * <p>
+ * Values are appended to a single log file and read back through a memory mapping; an in-memory
+ * index keeps only the position of the newest record per key, in least-recently-used order. Each
+ * record carries a CRC, so a torn write at the end of the log is detected and cut off when the
+ * index is rebuilt on startup. Overwritten records are reclaimed by compaction, which rewrites the
+ * live records into a fresh file on a background thread and then swaps in the new file and index;
+ * when the log outgrows its size cap the least recently used keys are dropped first. The mapping
+ * grows in chunks: records appended since the last mapping are read through the channel.
+ * <p>
+ * Record layout: key length (int), value length (int), written at (epoch millis, long), CRC32 of
+ * key and value (int), key (UTF-8), value.
+ */
+@Slf4j
+public class DiskTranslationStore implements AutoCloseable {
+
+    static final String FILE_NAME = "translations.log";
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+    // One mapping covers the whole log and is addressed with int offsets
+    private static final long MAX_SIZE_CAP = 1L << 30;
+    // Compact once at least this share of the log is overwritten records, to keep startup scans short
+    private static final double MAX_GARBAGE_RATIO = 0.5;
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+    // Unmapped tail beyond which a read remaps the whole log instead of reading through the channel
+    private static final long REMAP_CHUNK_BYTES = 8L << 20;
+
+    private final Path file;
+    private final long maxBytes;
+    private final Clock clock;
+    private final LinkedHashMap<String, Location> index = new LinkedHashMap<>(256, 0.75f, true);
+    // Single thread, so compactions never overlap
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("disk-cache-compactor").daemon(true).factory());
+
+    private FileChannel channel;
+    private ByteBuffer mapped;
+    private long size;
+    private long liveBytes;
+    private long evictions;
+    private long compactions;
+    private boolean compactionScheduled;
+
+    public DiskTranslationStore(Path directory, long maxBytes) throws IOException {
+        this(directory, maxBytes, Clock.systemUTC());
+    }
+
+    DiskTranslationStore(Path directory, long maxBytes, Clock clock) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(FILE_NAME);
+        this.maxBytes = Math.max(HEADER_BYTES, Math.min(maxBytes, MAX_SIZE_CAP));
+        this.clock = clock;
+        open();
+        loadIndex();
+    }
+
+    /**
+     * Value stored for the key, unless it is older than {@code maxAge} (null means no limit).
+     */
+    public synchronized Optional<byte[]> get(String key, Duration maxAge) {
+        Location location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        if (maxAge != null && location.writtenAtMillis() + maxAge.toMillis() <= clock.millis()) {
+            index.remove(key);
+            liveBytes -= location.recordBytes();
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(readValue(location));
+        } catch (IOException e) {
+            log.warn("Disk translation cache could not be read", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends the value; the previous record for the key, if any, becomes garbage. Failures are
+     * logged and leave the store as it was, the caller carries on without the disk tier.
+     */
+    public synchronized void put(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long writtenAt = clock.millis();
+        ByteBuffer record = encode(keyBytes, value, writtenAt);
+        Location location = new Location(size, keyBytes.length, value.length, writtenAt);
+        try {
+            long position = size;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+        } catch (IOException e) {
+            log.warn("Translation could not be written to the disk cache", e);
+            truncateQuietly(size);
+            return;
+        }
+        size += location.recordBytes();
+        Location previous = index.put(key, location);
+        liveBytes += location.recordBytes() - (previous != null ? previous.recordBytes() : 0);
+
+        if (compactionScheduled) {
+            return;
+        }
+        if (size > maxBytes) {
+            // Leave headroom so the next few writes do not trigger another rewrite
+            scheduleCompaction(maxBytes * 3 / 4);
+        } else if (size >= MIN_COMPACTION_BYTES && size - liveBytes > size * MAX_GARBAGE_RATIO) {
+            scheduleCompaction(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Rewrites the log with only the newest record of each key and waits for it.
+     */
+    public void compact() throws IOException {
+        try {
+            compactor.submit(() -> {
+                compact(maxBytes);
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compacting the disk translation cache");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Disk translation cache could not be compacted", e.getCause());
+        }
+    }
+
+    /**
+     * Waits until compactions scheduled so far have finished.
+     */
+    void awaitCompaction() throws Exception {
+        compactor.submit(() -> { }).get();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(index.size(), size, liveBytes, evictions, compactions);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Let a running compaction finish; it needs the lock to swap the files
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        }
+    }
+
+    private void scheduleCompaction(long targetBytes) {
+        compactionScheduled = true;
+        try {
+            compactor.execute(() -> {
+                try {
+                    compact(targetBytes);
+                } catch (IOException e) {
+                    log.warn("Disk translation cache could not be compacted", e);
+                } finally {
+                    synchronized (this) {
+                        compactionScheduled = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closing
+            compactionScheduled = false;
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = channel.size();
+        mapped = null;
+    }
+
+    /**
+     * Warm-loads the index by scanning the log; stops at the first record that is incomplete or
+     * fails its CRC and cuts the log off there.
+     */
+    private void loadIndex() throws IOException {
+        if (size > MAX_SIZE_CAP) {
+            log.warn("💾 Disk translation cache {} is larger than {} bytes, starting empty", file, MAX_SIZE_CAP);
+            truncate(0);
+        }
+        ensureMapped(size);
+        long position = 0;
+        while (position + HEADER_BYTES <= size) {
+            int offset = (int) position;
+            int keyLength = mapped.getInt(offset);
+            int valueLength = mapped.getInt(offset + 4);
+            if (keyLength <= 0 || valueLength < 0 || position + HEADER_BYTES + keyLength + valueLength > size) {
+                break;
+            }
+            Location location = new Location(position, keyLength, valueLength, mapped.getLong(offset + 8));
+            CRC32 crc = new CRC32();
+            crc.update(mapped.slice(offset + HEADER_BYTES, keyLength + valueLength));
+            if ((int) crc.getValue() != mapped.getInt(offset + 16)) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            mapped.get(offset + HEADER_BYTES, key);
+            // Later records win, and are also the most recently used
+            Location previous = index.put(new String(key, StandardCharsets.UTF_8), location);
+            liveBytes += location.recordBytes() - (previous != null ? previous.recordBytes() : 0);
+            position += location.recordBytes();
+        }
+        if (position < size) {
+            log.warn("💾 Dropping {} bytes of incomplete records at the end of {}", size - position, file);
+            truncate(position);
+        }
+        log.info("💾 Loaded {} disk cache entries ({} KB) from {}", index.size(), size / 1024, file);
+    }
+
+    /**
+     * Drops least recently used keys until the live records fit {@code targetBytes}, then copies the
+     * remaining records to a new file without holding the lock. Records appended meanwhile are
+     * copied after them under the lock, and the new file and index replace the old ones atomically.
+     * Runs on the compactor thread only.
+     */
+    private void compact(long targetBytes) throws IOException {
+        ByteBuffer source;
+        long snapshotEnd;
+        List<Map.Entry<String, Location>> snapshot;
+        synchronized (this) {
+            if (!channel.isOpen()) {
+                return;
+            }
+            Iterator<Map.Entry<String, Location>> eldest = index.entrySet().iterator();
+            while (liveBytes > targetBytes && eldest.hasNext()) {
+                liveBytes -= eldest.next().getValue().recordBytes();
+                eldest.remove();
+                evictions++;
+            }
+            ensureMapped(size);
+            source = mapped;
+            snapshotEnd = size;
+            // Iterating an access-ordered map does not reorder it
+            snapshot = new ArrayList<>(index.size());
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                snapshot.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        Path compacted = file.resolveSibling(FILE_NAME + ".compact");
+        Map<String, Location> moved = new HashMap<>(Math.max(16, snapshot.size() * 2));
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<String, Location> entry : snapshot) {
+                Location location = entry.getValue();
+                ByteBuffer record = source.slice((int) location.offset(), location.recordBytes());
+                long start = position;
+                while (record.hasRemaining()) {
+                    position += out.write(record, position);
+                }
+                moved.put(entry.getKey(), location.movedTo(start));
+            }
+
+            synchronized (this) {
+                if (!channel.isOpen()) {
+                    return;
+                }
+                long tailStart = position;
+                long tailBytes = size - snapshotEnd;
+                long copied = 0;
+                out.position(tailStart);
+                while (copied < tailBytes) {
+                    copied += channel.transferTo(snapshotEnd + copied, tailBytes - copied, out);
+                }
+                out.force(true);
+
+                // Keeps the current recency order; keys expired or evicted meanwhile stay dropped
+                LinkedHashMap<String, Location> swapped = new LinkedHashMap<>(Math.max(16, index.size() * 2), 0.75f, true);
+                long swappedLiveBytes = 0;
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    Location location = entry.getValue();
+                    Location relocated = location.offset() >= snapshotEnd
+                            ? location.movedTo(location.offset() - snapshotEnd + tailStart)
+                            : moved.get(entry.getKey());
+                    if (relocated != null) {
+                        swapped.put(entry.getKey(), relocated);
+                        swappedLiveBytes += relocated.recordBytes();
+                    }
+                }
+
+                long before = size;
+                channel.close();
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                open();
+                index.clear();
+                index.putAll(swapped);
+                liveBytes = swappedLiveBytes;
+                compactions++;
+                log.info("🧹 Compacted disk translation cache from {} KB to {} KB ({} entries)",
+                        before / 1024, size / 1024, index.size());
+            }
+        }
+    }
+
+    /**
+     * Reads a value through the mapping. Values appended since the log was last mapped are read from
+     * the channel until the unmapped tail reaches {@link #REMAP_CHUNK_BYTES}, so a read right after a
+     * write does not remap the whole log.
+     */
+    private byte[] readValue(Location location) throws IOException {
+        long end = location.offset() + location.recordBytes();
+        if (mapped != null && end > mapped.capacity() && size - mapped.capacity() < REMAP_CHUNK_BYTES) {
+            ByteBuffer value = ByteBuffer.allocate(location.valueLength());
+            long position = location.valueOffset();
+            while (value.hasRemaining()) {
+                int read = channel.read(value, position);
+                if (read < 0) {
+                    throw new EOFException("Disk translation cache ends inside a record");
+                }
+                position += read;
+            }
+            return value.array();
+        }
+        ensureMapped(end);
+        byte[] value = new byte[location.valueLength()];
+        mapped.get((int) location.valueOffset(), value);
+        return value;
+    }
+
+    private void ensureMapped(long end) throws IOException {
+        if (mapped == null || end > mapped.capacity()) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        channel.truncate(length);
+        size = length;
+        mapped = null;
+    }
+
+    private void truncateQuietly(long length) {
+        try {
+            channel.truncate(length);
+        } catch (IOException e) {
+            log.warn("Disk translation cache could not be truncated", e);
+        }
+    }
+
+    private static ByteBuffer encode(byte[] key, byte[] value, long writtenAt) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(value);
+        return ByteBuffer.allocate(HEADER_BYTES + key.length + value.length)
+                .putInt(key.length)
+                .putInt(value.length)
+                .putLong(writtenAt)
+                .putInt((int) crc.getValue())
+                .put(key)
+                .put(value)
+                .flip();
+    }
+
+    public record Stats(int entries, long fileBytes, long liveBytes, long evictions, long compactions) {
+    }
+
+    private record Location(long offset, int keyLength, int valueLength, long writtenAtMillis) {
+
+        long valueOffset() {
+            return offset + HEADER_BYTES + keyLength;
+        }
+
+        int recordBytes() {
+            return HEADER_BYTES + keyLength + valueLength;
+        }
+
+        Location movedTo(long newOffset) {
+            return new Location(newOffset, keyLength, valueLength, writtenAtMillis);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package salt.backend.services;
+
+import com.google.genai.Client;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds one long-lived Gemini {@link Client} per API key.
+ * Clients are created once (eagerly via {@link #warmUp()} or on first use) and reused
+ * for every request, so the HTTP connection pool and TLS sessions stay warm.
+ */
+@Slf4j
+public class GeminiClientPool implements AutoCloseable {
+
+    private final List<PooledClient> clients;
+    private final Function<String, Client> clientFactory;
+    private final int unhealthyAfterFailures;
+
+    public GeminiClientPool(List<String> apiKeys, Function<String, Client> clientFactory, int unhealthyAfterFailures) {
+        List<PooledClient> pooled = new ArrayList<>(apiKeys.size());
+        for (int i = 0; i < apiKeys.size(); i++) {
+            pooled.add(new PooledClient(i, apiKeys.get(i)));
+        }
+        this.clients = Collections.unmodifiableList(pooled);
+        this.clientFactory = clientFactory;
+        this.unhealthyAfterFailures = Math.max(1, unhealthyAfterFailures);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Creates the client for every key up front so the first request does not pay for it.
+     * A key whose client cannot be built is marked unhealthy and retried lazily on next use.
+     */
+    public void warmUp() {
+        for (PooledClient pooled : clients) {
+            try {
+                client(pooled.index);
+            } catch (RuntimeException e) {
+                recordFailure(pooled.index, e);
+                log.warn("Could not create Gemini client for key index {}: {}", pooled.index, e.getMessage());
+            }
+        }
+        log.info("🔥 Gemini client pool warmed up with {} client(s)", clients.size());
+    }
+
+    /**
+     * Returns the shared client for the key at {@code index}, creating it on first use.
+     */
+    public Client client(int index) {
+        PooledClient pooled = clients.get(index);
+        Client client = pooled.client;
+        if (client == null) {
+            synchronized (pooled) {
+                client = pooled.client;
+                if (client == null) {
+                    client = clientFactory.apply(pooled.apiKey);
+                    pooled.client = client;
+                    log.debug("Created Gemini client for key index {}", index);
+                }
+            }
+        }
+        return client;
+    }
+
+    public void recordSuccess(int index) {
+        PooledClient pooled = clients.get(index);
+        pooled.consecutiveFailures.set(0);
+        pooled.successes.incrementAndGet();
+    }
+
+    public void recordFailure(int index, Exception error) {
+        PooledClient pooled = clients.get(index);
+        int failures = pooled.consecutiveFailures.incrementAndGet();
+        pooled.failures.incrementAndGet();
+        pooled.lastError = error != null ? error.getMessage() : null;
+        if (failures == unhealthyAfterFailures) {
+            log.warn("⚠️ Gemini key index {} marked unhealthy after {} consecutive failures", index, failures);
+        }
+    }
+
+    public boolean isHealthy(int index) {
+        return clients.get(index).consecutiveFailures.get() < unhealthyAfterFailures;
+    }
+
+    public int healthyCount() {
+        int healthy = 0;
+        for (PooledClient pooled : clients) {
+            if (pooled.consecutiveFailures.get() < unhealthyAfterFailures) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    public List<KeyStatus> status() {
+        List<KeyStatus> status = new ArrayList<>(clients.size());
+        for (PooledClient pooled : clients) {
+            status.add(new KeyStatus(pooled.index, isHealthy(pooled.index),
+                    pooled.successes.get(), pooled.failures.get(), pooled.lastError));
+        }
+        return status;
+    }
+
+    /**
+     * Closes every client that was created. The pool must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        for (PooledClient pooled : clients) {
+            Client client;
+            synchronized (pooled) {
+                client = pooled.client;
+                pooled.client = null;
+            }
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to close Gemini client for key index {}", pooled.index, e);
+                }
+            }
+        }
+        log.info("Gemini client pool closed");
+    }
+
+    public record KeyStatus(int index, boolean healthy, long successes, long failures, String lastError) {
+    }
+
+    private static final class PooledClient {
+        private final int index;
+        private final String apiKey;
+        private volatile Client client;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile String lastError;
+
+        private PooledClient(int index, String apiKey) {
+            this.index = index;
+            this.apiKey = apiKey;
+        }
+    }
+}
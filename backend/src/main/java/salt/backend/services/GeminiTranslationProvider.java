@@ -0,0 +1,383 @@
+package salt.backend.services;
+
+import com.google.genai.Client;
+import com.google.genai.ResponseStream;
+import com.google.genai.types.GenerateContentResponse;
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.config.TranslationProperties;
+import salt.backend.services.TranslationMetrics.Stage;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Translates through the Gemini API over a pool of API keys. Each call tries the keys in the order
+ * chosen by the {@link KeyScheduler}, waiting for room in the key's rate limiter first, until one
+ * succeeds. With hedging enabled, a call that is still running after the {@link HedgePolicy} delay
+ * gets a second attempt on a key the first attempt has not tried; the first success wins and the
+ * other attempt is cancelled.
+ * <p>
+ * The SDK calls themselves run on platform threads, a pool of
+ * {@code translation.rate-limit.max-in-flight-per-key} per key so a slow key cannot hold the threads
+ * of the others. The SDK's HTTP client leases connections inside synchronized code, which pins a
+ * virtual thread to its carrier; callers waiting for a connection could then hold every carrier
+ * while the threads that would give a connection back cannot be scheduled.
+ */
+@Slf4j
+public class GeminiTranslationProvider implements TranslationProvider, AutoCloseable {
+
+    public static final String NAME = "gemini";
+
+    private final String model;
+    private final int keyCount;
+    private final GeminiClientPool clientPool;
+    private final KeyScheduler keyScheduler;
+    private final KeyRateLimiter keyRateLimiter;
+    private final TranslationMetrics metrics;
+    private final HedgePolicy hedgePolicy;
+    private final ExecutorService hedgeExecutor;
+    private final List<ExecutorService> callExecutors;
+
+    public GeminiTranslationProvider(List<String> apiKeys, Function<String, Client> clientFactory,
+                                     TranslationProperties properties, TranslationMetrics metrics) {
+        this.model = properties.getGemini().getModel();
+        this.keyCount = apiKeys.size();
+        this.clientPool = new GeminiClientPool(apiKeys, clientFactory,
+                properties.getGemini().getUnhealthyAfterFailures());
+        this.keyScheduler = new KeyScheduler(apiKeys.size(), properties.getScheduler());
+        this.keyRateLimiter = properties.getRateLimit().isEnabled()
+                ? new KeyRateLimiter(apiKeys.size(), properties.getRateLimit())
+                : null;
+        this.metrics = metrics;
+        this.hedgePolicy = properties.getHedging().isEnabled() ? new HedgePolicy(properties.getHedging()) : null;
+        this.hedgeExecutor = hedgePolicy != null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        // Pool threads serve every request, so they must not inherit the deadline of the one that created them
+        int callsPerKey = Math.max(1, properties.getRateLimit().getMaxInFlightPerKey());
+        this.callExecutors = IntStream.range(0, apiKeys.size())
+                .mapToObj(key -> Executors.newFixedThreadPool(callsPerKey, Thread.ofPlatform()
+                        .name("gemini-call-" + key + "-", 0).daemon(true).inheritInheritableThreadLocals(false).factory()))
+                .toList();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    public void warmUp() {
+        clientPool.warmUp();
+    }
+
+    @Override
+    public void close() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+        callExecutors.forEach(ExecutorService::shutdownNow);
+        clientPool.close();
+    }
+
+    public List<KeyScheduler.KeyStatus> keyStatus() {
+        return keyScheduler.status();
+    }
+
+    public List<KeyRateLimiter.KeyStats> rateLimitStats() {
+        return keyRateLimiter != null ? keyRateLimiter.stats() : null;
+    }
+
+    @Override
+    public String translate(Request request) throws Exception {
+        String prompt = request.prompt();
+        log.info("📤 Sending translation request to Gemini AI for language: {}", request.targetLanguage());
+
+        KeyCall<String> call = (client, currentIndex) -> {
+            // Send request to Gemini AI
+            GenerateContentResponse response = metrics.stage(Stage.PROVIDER_CALL).recordCallable(() ->
+                client.models.generateContent(model, prompt, null));
+
+            String text = response.text();
+            log.info("📥 Received response from Gemini AI (using key index: {})", currentIndex);
+            metrics.recordExchange(prompt.length(), text != null ? text.length() : 0);
+            metrics.recordUsage(response);
+            return text;
+        };
+        int[] order = keyScheduler.order();
+        int estimatedTokens = KeyRateLimiter.estimateTokens(prompt);
+        if (hedgePolicy == null || order.length < 2) {
+            return callWithFailover(order, request.targetLanguage(), estimatedTokens, call, null);
+        }
+        return callHedged(order, request.targetLanguage(), estimatedTokens, call);
+    }
+
+    @Override
+    public void translateStream(Request request, StreamSink sink) throws Exception {
+        String prompt = request.prompt();
+        log.info("📤 Streaming translation request to Gemini AI for language: {}", request.targetLanguage());
+
+        // Not hedged: two attempts cannot feed the same stream
+        int[] order = keyScheduler.order();
+        callWithFailover(order, request.targetLanguage(), KeyRateLimiter.estimateTokens(prompt), (client, currentIndex) -> {
+            sink.begin();
+            long start = System.nanoTime();
+            int received = 0;
+            try (ResponseStream<GenerateContentResponse> stream = client.models.generateContentStream(model, prompt, null)) {
+                GenerateContentResponse last = null;
+                for (GenerateContentResponse chunk : stream) {
+                    String text = chunk.text();
+                    received += text != null ? text.length() : 0;
+                    sink.accept(text);
+                    last = chunk;
+                }
+                // Usage metadata is reported with the final chunk
+                if (last != null) {
+                    metrics.recordUsage(last);
+                }
+            } catch (Exception e) {
+                // Sections already sent to the client cannot be replayed on another key
+                throw sink.committed() ? new NonRetryableException(e) : e;
+            } finally {
+                // Parsing happens while the stream arrives, so it is part of the provider call here
+                metrics.stage(Stage.PROVIDER_CALL).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                metrics.recordExchange(prompt.length(), received);
+            }
+            return null;
+        }, null);
+    }
+
+    /**
+     * Runs the call with failover over {@code order}. If it has not finished after the hedge delay and
+     * the budget allows, a single attempt on the next key the primary has not tried yet races it; the
+     * primary then skips that key when it fails over, so no key gets two attempts at once. The first
+     * success is returned; when one attempt fails the other is still awaited. The attempt that loses
+     * is interrupted.
+     */
+    private <T> T callHedged(int[] order, String targetLanguage, int estimatedTokens, KeyCall<T> call) throws Exception {
+        hedgePolicy.refill();
+        long delayNanos = hedgePolicy.delayNanos();
+        ExecutorCompletionService<T> race = new ExecutorCompletionService<>(hedgeExecutor);
+        // Keys taken by either attempt
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        Future<T> primary = race.submit(() -> callWithFailover(order, targetLanguage, estimatedTokens, call, claimed));
+        Future<T> hedge = null;
+        try {
+            Future<T> first = delayNanos < 0 ? primary : race.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (first != null) {
+                return resultOf(first);
+            }
+            if (RequestDeadline.current().isDone()) {
+                // Nobody is waiting for a second attempt any more
+                return resultOf(primary);
+            }
+            int hedgeKey = -1;
+            for (int i = 1; i < order.length && hedgeKey < 0; i++) {
+                if (claimed.add(order[i])) {
+                    hedgeKey = order[i];
+                }
+            }
+            if (hedgeKey < 0) {
+                // The primary has already moved on to every other key
+                return resultOf(primary);
+            }
+            if (!hedgePolicy.tryHedge()) {
+                claimed.remove(hedgeKey);
+                metrics.recordHedge("budget_exhausted");
+                return resultOf(primary);
+            }
+            log.info("🏁 Hedging slow translation call on API key index {} after {} ms",
+                hedgeKey, delayNanos / 1_000_000);
+            int[] hedgeOrder = {hedgeKey};
+            hedge = race.submit(() -> callWithFailover(hedgeOrder, targetLanguage, estimatedTokens, call, null));
+
+            Exception failure = null;
+            for (int i = 0; i < 2; i++) {
+                Future<T> done = race.take();
+                try {
+                    T result = resultOf(done);
+                    metrics.recordHedge(done == hedge ? "won" : "lost");
+                    return result;
+                } catch (Exception e) {
+                    // Report the primary's failure: it has been through every key
+                    if (failure == null || done == primary) {
+                        failure = e;
+                    }
+                }
+            }
+            throw failure;
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private static <T> T resultOf(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs one provider call with the pooled client of each API key in {@code order} until one
+     * succeeds. Before each attempt the call waits for room in that key's rate limiter; a key
+     * without capacity within the maximum wait is skipped. A {@link NonRetryableException} stops the
+     * rotation and rethrows its cause. No attempt starts once the request's {@link RequestDeadline}
+     * is spent or cancelled. A call interrupted by its caller, e.g. a hedge that lost or a request
+     * whose client went away, stops without counting against the key's health. With {@code claimed}
+     * set, keys another attempt of the same call has taken are skipped.
+     */
+    private <T> T callWithFailover(int[] order, String targetLanguage, int estimatedTokens, KeyCall<T> call,
+                                   Set<Integer> claimed) throws Exception {
+        Exception lastException = null;
+        int attempts = 0;
+
+        for (int i = 0; i < order.length; i++) {
+            int currentIndex = order[i];
+            if (claimed != null && !claimed.add(currentIndex)) {
+                continue;
+            }
+            RequestDeadline.current().check();
+
+            KeyRateLimiter.Permit permit;
+            try {
+                permit = acquirePermit(currentIndex, estimatedTokens);
+            } catch (RejectedExecutionException e) {
+                // Local quota, not a provider failure: leave the key's health alone
+                lastException = e;
+                log.warn("⏳ No capacity on API key index {}: {}", currentIndex, e.getMessage());
+                continue;
+            }
+            try (permit) {
+                // The wait for the permit may have used up the rest of the budget
+                RequestDeadline.current().check();
+                log.debug("Attempting translation with API key index: {} (attempt {}/{})",
+                    currentIndex, i + 1, order.length);
+
+                // Reuse the pooled client for the current API key
+                Timed<T> timed = onCallThread(clientPool.client(currentIndex), currentIndex, call);
+                T result = timed.result();
+                long latency = timed.latencyNanos();
+                clientPool.recordSuccess(currentIndex);
+                keyScheduler.recordSuccess(currentIndex, latency);
+                metrics.recordProviderSuccess(currentIndex);
+                if (hedgePolicy != null) {
+                    hedgePolicy.recordLatency(latency);
+                }
+
+                log.info("✅ Successfully translated resume to {} (using key index: {})",
+                    targetLanguage, currentIndex);
+                return result;
+
+            } catch (NonRetryableException e) {
+                clientPool.recordFailure(currentIndex, e.getCause());
+                keyScheduler.recordFailure(currentIndex, e.getCause());
+                metrics.recordProviderFailure(currentIndex, e.getCause());
+                throw e.getCause();
+            } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted() || e instanceof InterruptedException
+                        || RequestDeadline.current().isDone()) {
+                    throw e;
+                }
+                attempts++;
+                lastException = e;
+                clientPool.recordFailure(currentIndex, e);
+                keyScheduler.recordFailure(currentIndex, e);
+                metrics.recordProviderFailure(currentIndex, e);
+                log.warn("❌ Translation attempt {} failed with API key index {}: {}",
+                    attempts, currentIndex, e.getMessage());
+
+                // If this was the last key, break and throw error
+                if (i == order.length - 1) {
+                    break;
+                }
+
+                // Otherwise, try next key
+                log.info("🔄 Retrying with next API key...");
+            }
+        }
+
+        if (attempts == 0 && lastException instanceof RejectedExecutionException) {
+            log.error("❌ No API key had capacity for the translation");
+            throw new RejectedExecutionException("All API keys are at capacity", lastException);
+        }
+
+        // All keys failed
+        log.error("❌ All {} API key(s) exhausted. Translation failed.", keyCount);
+        throw new Exception(
+            "Translation service error: All API keys failed after " + attempts + " attempt(s). " +
+            "Last error: " + (lastException != null ? lastException.getMessage() : "Unknown error"),
+            lastException
+        );
+    }
+
+    /**
+     * Runs the SDK call on one of the key's platform threads and waits for it no longer than the request's
+     * deadline. A caller that stops waiting, because it was interrupted or out of time, interrupts the call.
+     * The latency is taken on the call thread, so time spent waiting for a free thread is not the key's.
+     */
+    private <T> Timed<T> onCallThread(Client client, int keyIndex, KeyCall<T> call) throws Exception {
+        Future<Timed<T>> future = callExecutors.get(keyIndex).submit(() -> {
+            long start = System.nanoTime();
+            T result = call.call(client, keyIndex);
+            return new Timed<>(result, System.nanoTime() - start);
+        });
+        try {
+            return future.get(RequestDeadline.current().remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            future.cancel(true);
+        }
+    }
+
+    private KeyRateLimiter.Permit acquirePermit(int keyIndex, int estimatedTokens)
+            throws InterruptedException, TimeoutException {
+        return keyRateLimiter != null ? keyRateLimiter.acquire(keyIndex, estimatedTokens) : () -> { };
+    }
+
+    private record Timed<T>(T result, long latencyNanos) {
+    }
+
+    @FunctionalInterface
+    private interface KeyCall<T> {
+        T call(Client client, int keyIndex) throws Exception;
+    }
+
+    /**
+     * Wraps a failure that must not be retried on another key, e.g. after part of a stream was delivered.
+     */
+    private static final class NonRetryableException extends Exception {
+        private NonRetryableException(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
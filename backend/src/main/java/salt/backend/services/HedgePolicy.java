@@ -0,0 +1,74 @@
+package salt.backend.services;
+
+import salt.backend.config.TranslationProperties;
+
+import java.util.Arrays;
+
+/**
+ * Decides when a slow provider call gets a second, hedged attempt. The hedge delay is a percentile
+ * of recent successful call latencies (never below {@code min-delay}), and hedges are paid from a
+ * budget that every call refills by {@code budget-percent} / 100, so extra load stays bounded to
+ * that share of traffic.
+ */
+public class HedgePolicy {
+
+    // The budget is kept in thousandths of a hedge, so refills add up exactly
+    private static final long HEDGE_COST = 1000;
+
+    // Budget saved up while traffic is healthy; caps the burst of hedges when latency spikes
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long refillPerCall;
+    private final int minSamples;
+    private final long[] window;
+    private int next;
+    private int samples;
+    private long budget;
+
+    public HedgePolicy(TranslationProperties.Hedging settings) {
+        this.percentile = Math.min(1.0, Math.max(0.5, settings.getPercentile()));
+        this.minDelayNanos = settings.getMinDelay().toNanos();
+        this.refillPerCall = Math.round(Math.max(0, settings.getBudgetPercent()) * HEDGE_COST / 100);
+        this.window = new long[Math.max(1, settings.getWindow())];
+        this.minSamples = Math.min(window.length, Math.max(1, settings.getMinSamples()));
+    }
+
+    public synchronized void recordLatency(long latencyNanos) {
+        window[next] = latencyNanos;
+        next = (next + 1) % window.length;
+        samples = Math.min(samples + 1, window.length);
+    }
+
+    /**
+     * How long to wait for the first attempt before hedging, or -1 while there are too few samples.
+     */
+    public synchronized long delayNanos() {
+        if (samples < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(window, samples);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * samples);
+        return Math.max(minDelayNanos, sorted[Math.max(0, rank - 1)]);
+    }
+
+    /**
+     * Called once per call; adds this call's share to the hedge budget.
+     */
+    public synchronized void refill() {
+        budget = Math.min(MAX_BUDGET, budget + refillPerCall);
+    }
+
+    /**
+     * Takes one hedge from the budget, or returns false when it is spent.
+     */
+    public synchronized boolean tryHedge() {
+        if (budget < HEDGE_COST) {
+            return false;
+        }
+        budget -= HEDGE_COST;
+        return true;
+    }
+}
@@ -0,0 +1,223 @@
+package salt.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import salt.backend.config.ImageProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for resume photos. Every image is kept on local disk under the SHA-256 of
+ * its bytes, so uploading the same photo twice stores it once and a stored image never changes. The
+ * most recently served images are also kept in a byte-bounded in-memory LRU. Disk use is capped at
+ * {@code images.max-disk-size}: once it is reached new images are refused. Stored images are never
+ * deleted, since saved resumes reference them and their URLs are served as immutable.
+ */
+@Slf4j
+@Service
+public class ImageStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+    private final long memoryCacheBytes;
+    private final long maxDiskBytes;
+    // Bytes of every stored file plus uploads being written; rebuilt from the directory on startup
+    private final AtomicLong storedBytes = new AtomicLong();
+    // Access order turns the map into an LRU list; the eldest entry is the least recently used
+    private final LinkedHashMap<String, Image> hot = new LinkedHashMap<>(16, 0.75f, true);
+    private long hotBytes;
+
+    /**
+     * A stored image and its content type, detected from the bytes themselves.
+     */
+    public record Image(String hash, String contentType, byte[] content) {
+    }
+
+    /**
+     * Thrown when a new image would take the store past {@code images.max-disk-size}.
+     */
+    public static class StoreFullException extends IOException {
+        public StoreFullException(String message) {
+            super(message);
+        }
+    }
+
+    public ImageStore(ImageProperties properties) {
+        this.directory = Path.of(properties.getDirectory());
+        this.memoryCacheBytes = properties.getMemoryCacheSize().toBytes();
+        this.maxDiskBytes = properties.getMaxDiskSize().toBytes();
+        loadStored();
+    }
+
+    /**
+     * Stores the image unless an identical one is already stored.
+     *
+     * @throws IllegalArgumentException when the bytes are not a PNG, JPEG, GIF or WebP image
+     * @throws StoreFullException        when the image is new and the store has no room left for it
+     */
+    public Image put(byte[] content) throws IOException {
+        String contentType = contentType(content)
+                .orElseThrow(() -> new IllegalArgumentException("Not a PNG, JPEG, GIF or WebP image"));
+        String hash = ResumeFingerprint.sha256(content);
+        Image image = new Image(hash, contentType, content);
+
+        Path file = fileOf(hash);
+        if (!Files.exists(file)) {
+            if (!reserve(content.length)) {
+                log.warn("🚫 Image store is full ({} of {} bytes used), refusing image {}",
+                        storedBytes.get(), maxDiskBytes, hash);
+                throw new StoreFullException("Image store is full");
+            }
+            boolean stored = false;
+            Path temp = null;
+            try {
+                Files.createDirectories(file.getParent());
+                temp = Files.createTempFile(file.getParent(), hash, ".tmp");
+                Files.write(temp, content);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                stored = true;
+                log.info("🖼️ Stored image {} ({} bytes)", hash, content.length);
+            } catch (FileAlreadyExistsException e) {
+                // Stored by a concurrent upload of the same image, which counted it already
+            } finally {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+                if (!stored) {
+                    storedBytes.addAndGet(-content.length);
+                }
+            }
+        }
+        remember(image);
+        return image;
+    }
+
+    /**
+     * The image stored under {@code hash}, or empty when there is none or the hash is malformed.
+     */
+    public Optional<Image> get(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Image cached;
+        synchronized (hot) {
+            cached = hot.get(hash);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        byte[] content;
+        try {
+            content = Files.readAllBytes(fileOf(hash));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read image " + hash, e);
+        }
+        Optional<String> contentType = contentType(content);
+        if (contentType.isEmpty()) {
+            log.warn("Stored image {} is not a recognized image, ignoring it", hash);
+            return Optional.empty();
+        }
+        Image image = new Image(hash, contentType.get(), content);
+        remember(image);
+        return Optional.of(image);
+    }
+
+    // Claims room for a new file, or reports that the store is full
+    private boolean reserve(long size) {
+        long used;
+        do {
+            used = storedBytes.get();
+            if (used + size > maxDiskBytes) {
+                return false;
+            }
+        } while (!storedBytes.compareAndSet(used, used + size));
+        return true;
+    }
+
+    private void loadStored() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            List<Path> images = files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> HASH.matcher(file.getFileName().toString()).matches())
+                    .toList();
+            for (Path image : images) {
+                storedBytes.addAndGet(Files.size(image));
+            }
+            log.info("🖼️ Image store holds {} image(s), {} KB", images.size(), storedBytes.get() / 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan image store " + directory, e);
+        }
+    }
+
+    private void remember(Image image) {
+        long size = image.content().length;
+        if (size > memoryCacheBytes) {
+            return;
+        }
+        synchronized (hot) {
+            if (hot.put(image.hash(), image) == null) {
+                hotBytes += size;
+            }
+            Iterator<Map.Entry<String, Image>> eldest = hot.entrySet().iterator();
+            while (hotBytes > memoryCacheBytes && eldest.hasNext()) {
+                hotBytes -= eldest.next().getValue().content().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    // Two levels of directories keep any one of them small
+    private Path fileOf(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * The image type announced by the first bytes of {@code content}.
+     */
+    static Optional<String> contentType(byte[] content) {
+        if (startsWith(content, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})) {
+            return Optional.of("image/png");
+        }
+        if (startsWith(content, 0, new byte[]{(byte) 0xff, (byte) 0xd8, (byte) 0xff})) {
+            return Optional.of("image/jpeg");
+        }
+        if (startsWith(content, 0, ascii("GIF87a")) || startsWith(content, 0, ascii("GIF89a"))) {
+            return Optional.of("image/gif");
+        }
+        if (startsWith(content, 0, ascii("RIFF")) && startsWith(content, 8, ascii("WEBP"))) {
+            return Optional.of("image/webp");
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] prefix) {
+        return content.length >= offset + prefix.length
+                && Arrays.equals(content, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
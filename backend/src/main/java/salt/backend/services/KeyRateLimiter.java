@@ -0,0 +1,209 @@
+package salt.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.config.TranslationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side quota for each API key: a requests-per-minute and a tokens-per-minute token bucket
+ * plus a cap on calls in flight. A call that does not fit waits in a bounded FIFO queue for the key
+ * instead of being sent and bounced with 429. When the queue is full, or capacity does not free up
+ * within the maximum wait, {@link #acquire} throws {@link RejectedExecutionException}. No call waits
+ * past its request's {@link RequestDeadline}.
+ */
+@Slf4j
+public class KeyRateLimiter {
+
+    private final KeyBucket[] keys;
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    public KeyRateLimiter(int keyCount, TranslationProperties.RateLimit settings) {
+        this.maxInFlight = Math.max(1, settings.getMaxInFlightPerKey());
+        this.maxQueued = Math.max(0, settings.getMaxQueuedPerKey());
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.keys = new KeyBucket[keyCount];
+        long now = System.nanoTime();
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = new KeyBucket(Math.max(1, settings.getRequestsPerMinute()),
+                    Math.max(1, settings.getTokensPerMinute()), now);
+        }
+    }
+
+    /**
+     * Waits until the key has room for one more call of {@code estimatedTokens} tokens and reserves it.
+     * The returned permit must be closed when the call is done. The wait ends at the maximum wait or
+     * at the current request's deadline, whichever comes first; a spent deadline throws
+     * {@link TimeoutException} instead of waiting at all.
+     */
+    public Permit acquire(int index, int estimatedTokens) throws InterruptedException, TimeoutException {
+        KeyBucket key = keys[index];
+        RequestDeadline request = RequestDeadline.current();
+        request.check();
+        if (key.queued.incrementAndGet() > maxQueued + 1) {
+            key.queued.decrementAndGet();
+            key.rejections.incrementAndGet();
+            throw new RejectedExecutionException("Wait queue for API key index " + index + " is full");
+        }
+        long start = System.nanoTime();
+        long waitNanos = Math.min(maxWaitNanos, request.remainingNanos());
+        long deadline = start + waitNanos;
+        try {
+            // Fair lock: callers take their turn in arrival order, the head waits for capacity
+            if (!key.turn.tryLock(waitNanos, TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("No capacity on API key index " + index + " within the maximum wait");
+            }
+            try {
+                key.reserve(estimatedTokens, deadline, maxInFlight);
+            } finally {
+                key.turn.unlock();
+            }
+        } catch (RejectedExecutionException e) {
+            key.rejections.incrementAndGet();
+            // Out of time for the request, not just for this key: trying the next key is pointless
+            request.check();
+            throw e;
+        } finally {
+            key.queued.decrementAndGet();
+        }
+
+        long waited = System.nanoTime() - start;
+        key.acquired.incrementAndGet();
+        key.totalWaitNanos.addAndGet(waited);
+        key.maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (waited > TimeUnit.MILLISECONDS.toNanos(100)) {
+            log.debug("Waited {} ms for capacity on API key index {}", waited / 1_000_000, index);
+        }
+        return () -> key.release();
+    }
+
+    public List<KeyStats> stats() {
+        List<KeyStats> stats = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            KeyBucket key = keys[i];
+            long acquired = key.acquired.get();
+            stats.add(new KeyStats(i, key.queued.get(), key.inFlightCount(),
+                    acquired, key.rejections.get(),
+                    acquired == 0 ? 0 : key.totalWaitNanos.get() / acquired / 1_000_000,
+                    key.maxWaitNanos.get() / 1_000_000));
+        }
+        return stats;
+    }
+
+    /**
+     * Rough token estimate for a prompt: about four characters per token, doubled because the
+     * translated reply is about as long as the text sent.
+     */
+    public static int estimateTokens(String prompt) {
+        return Math.max(1, prompt.length() / 4 * 2);
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public record KeyStats(int index, int queueDepth, int inFlight, long acquired, long rejections,
+                           long averageWaitMs, long maxWaitMs) {
+    }
+
+    private static final class KeyBucket {
+        private final ReentrantLock turn = new ReentrantLock(true);
+        private final ReentrantLock state = new ReentrantLock();
+        private final Condition released = state.newCondition();
+
+        private final double requestCapacity;
+        private final double tokenCapacity;
+        private final double requestsPerNano;
+        private final double tokensPerNano;
+        private double requests;
+        private double tokens;
+        private long refilledAt;
+        private int inFlight;
+
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong rejections = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private KeyBucket(int requestsPerMinute, int tokensPerMinute, long now) {
+            this.requestCapacity = requestsPerMinute;
+            this.tokenCapacity = tokensPerMinute;
+            this.requestsPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokensPerNano = tokensPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.requests = requestCapacity;
+            this.tokens = tokenCapacity;
+            this.refilledAt = now;
+        }
+
+        private void reserve(int estimatedTokens, long deadline, int maxInFlight) throws InterruptedException {
+            // A call larger than the whole bucket could never fit; let it through on a full bucket
+            double needed = Math.min(estimatedTokens, tokenCapacity);
+            state.lock();
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (inFlight < maxInFlight && requests >= 1 && tokens >= needed) {
+                        requests -= 1;
+                        tokens -= needed;
+                        inFlight++;
+                        return;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw new RejectedExecutionException("No capacity on API key within the maximum wait");
+                    }
+                    long refillWait = Math.max(
+                            requests >= 1 ? 0 : (long) Math.ceil((1 - requests) / requestsPerNano),
+                            tokens >= needed ? 0 : (long) Math.ceil((needed - tokens) / tokensPerNano));
+                    // When only the in-flight cap is the problem, a released call wakes us up
+                    long wait = inFlight >= maxInFlight ? remaining : Math.min(remaining, Math.max(1, refillWait));
+                    released.awaitNanos(wait);
+                }
+            } finally {
+                state.unlock();
+            }
+        }
+
+        private void release() {
+            state.lock();
+            try {
+                inFlight--;
+                released.signalAll();
+            } finally {
+                state.unlock();
+            }
+        }
+
+        private void refill(long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                requests = Math.min(requestCapacity, requests + elapsed * requestsPerNano);
+                tokens = Math.min(tokenCapacity, tokens + elapsed * tokensPerNano);
+                refilledAt = now;
+            }
+        }
+
+        private int inFlightCount() {
+            state.lock();
+            try {
+                return inFlight;
+            } finally {
+                state.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package salt.backend.services;
+
+import com.google.genai.errors.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.config.TranslationProperties;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides which API keys a provider call should try, and in which order.
+ * Every key carries a small state machine: healthy, cooling down after a rate limit (429), or
+ * circuit-open after repeated errors. Blocked keys are skipped until their block expires, and
+ * among the available keys the faster one (by latency EWMA) is preferred. All state is kept in
+ * atomics, so selection never takes a lock.
+ */
+@Slf4j
+public class KeyScheduler {
+
+    public enum State {
+        HEALTHY,
+        COOLDOWN,
+        CIRCUIT_OPEN
+    }
+
+    private final KeyState[] keys;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long cooldownNanos;
+    private final long circuitOpenNanos;
+    private final int circuitOpenAfterFailures;
+    private final double latencySmoothing;
+    private final LongSupplier nanoClock;
+
+    public KeyScheduler(int keyCount, TranslationProperties.Scheduler settings) {
+        this(keyCount, settings, System::nanoTime);
+    }
+
+    KeyScheduler(int keyCount, TranslationProperties.Scheduler settings, LongSupplier nanoClock) {
+        this.keys = new KeyState[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = new KeyState();
+        }
+        this.cooldownNanos = settings.getRateLimitCooldown().toNanos();
+        this.circuitOpenNanos = settings.getCircuitOpenDuration().toNanos();
+        this.circuitOpenAfterFailures = Math.max(1, settings.getCircuitOpenAfterFailures());
+        this.latencySmoothing = Math.min(1.0, Math.max(0.01, settings.getLatencySmoothing()));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Keys to try for one call, best first. Keys that are cooling down or have an open circuit are
+     * left out; if every key is blocked, only the one whose block ends first is returned as a probe.
+     */
+    public int[] order() {
+        long now = nanoClock.getAsLong();
+        // floorMod keeps the rotation valid after the counter wraps past Integer.MAX_VALUE
+        int start = Math.floorMod(cursor.getAndIncrement(), keys.length);
+
+        List<Integer> available = new ArrayList<>(keys.length);
+        int probe = -1;
+        for (int i = 0; i < keys.length; i++) {
+            int index = (start + i) % keys.length;
+            if (keys[index].isAvailable(now)) {
+                available.add(index);
+            } else if (probe < 0 || keys[index].blockedUntil() - keys[probe].blockedUntil() < 0) {
+                probe = index;
+            }
+        }
+        if (available.isEmpty()) {
+            return new int[] {probe};
+        }
+
+        // Power of two choices: the next two keys in rotation compete on latency, so the faster key
+        // wins without every call piling onto it; the rest follow as fallbacks, fastest first
+        if (available.size() > 1 && latency(available.get(1)) < latency(available.get(0))) {
+            available.set(1, available.set(0, available.get(1)));
+        }
+        available.subList(1, available.size()).sort(Comparator.comparingDouble(this::latency));
+        return available.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void recordSuccess(int index, long latencyNanos) {
+        KeyState key = keys[index];
+        key.consecutiveFailures.set(0);
+        key.block.set(null);
+        key.ewmaLatencyBits.getAndUpdate(bits -> {
+            double previous = Double.longBitsToDouble(bits);
+            double next = previous == 0 ? latencyNanos : previous + latencySmoothing * (latencyNanos - previous);
+            return Double.doubleToRawLongBits(next);
+        });
+    }
+
+    public void recordFailure(int index, Throwable error) {
+        KeyState key = keys[index];
+        int failures = key.consecutiveFailures.incrementAndGet();
+        long now = nanoClock.getAsLong();
+        if (isRateLimit(error)) {
+            key.block.set(new Block(State.COOLDOWN, now + cooldownNanos));
+            log.warn("🧊 Gemini key index {} is rate limited, cooling down for {} ms", index, cooldownNanos / 1_000_000);
+        } else if (failures >= circuitOpenAfterFailures) {
+            key.block.set(new Block(State.CIRCUIT_OPEN, now + circuitOpenNanos));
+            log.warn("⛔ Circuit opened for Gemini key index {} after {} consecutive failures", index, failures);
+        }
+    }
+
+    public State state(int index) {
+        Block block = keys[index].block.get();
+        return block == null || block.until() - nanoClock.getAsLong() <= 0 ? State.HEALTHY : block.state();
+    }
+
+    public List<KeyStatus> status() {
+        long now = nanoClock.getAsLong();
+        List<KeyStatus> status = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            Block block = keys[i].block.get();
+            long blockedForMs = block == null ? 0 : Math.max(0, (block.until() - now) / 1_000_000);
+            status.add(new KeyStatus(i, state(i), latency(i) / 1_000_000, keys[i].consecutiveFailures.get(), blockedForMs));
+        }
+        return status;
+    }
+
+    private double latency(int index) {
+        return Double.longBitsToDouble(keys[index].ewmaLatencyBits.get());
+    }
+
+    static boolean isRateLimit(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiException apiException && apiException.code() == 429) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.contains("429") || message.contains("RESOURCE_EXHAUSTED"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record KeyStatus(int index, State state, double latencyMs, int consecutiveFailures, long blockedForMs) {
+    }
+
+    private record Block(State state, long until) {
+    }
+
+    private static final class KeyState {
+        private final AtomicReference<Block> block = new AtomicReference<>();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        // Latency EWMA in nanoseconds, stored as raw double bits; 0 until the first success
+        private final AtomicLong ewmaLatencyBits = new AtomicLong();
+
+        private boolean isAvailable(long now) {
+            Block current = block.get();
+            return current == null || current.until() - now <= 0;
+        }
+
+        private long blockedUntil() {
+            Block current = block.get();
+            return current == null ? Long.MIN_VALUE : current.until();
+        }
+    }
+}
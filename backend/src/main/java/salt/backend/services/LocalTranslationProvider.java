@@ -0,0 +1,76 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import salt.backend.config.TranslationProperties;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Deterministic provider that never leaves the process: answers with the prompt's payload itself,
+ * optionally replacing strings found in a per-language dictionary. Used in tests, benchmarks and as
+ * the last link of the chain, so a resume still comes back when every remote provider is down.
+ * Its replies are not translations and are never cached.
+ */
+public class LocalTranslationProvider implements TranslationProvider {
+
+    public static final String NAME = "local";
+
+    private final TranslationProperties.Local settings;
+    private final ObjectMapper objectMapper;
+
+    public LocalTranslationProvider(TranslationProperties.Local settings, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String model() {
+        return NAME + "-" + settings.getMode().name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean cacheable() {
+        return false;
+    }
+
+    @Override
+    public String translate(Request request) throws Exception {
+        if (settings.getMode() == TranslationProperties.LocalMode.IDENTITY) {
+            return request.payload();
+        }
+        Map<String, String> dictionary = settings.getDictionary()
+                .getOrDefault(ResumeFingerprint.normalizeLanguage(request.targetLanguage()), Map.of());
+        JsonNode payload = objectMapper.readTree(request.payload());
+        return objectMapper.writeValueAsString(replace(payload, dictionary));
+    }
+
+    private JsonNode replace(JsonNode node, Map<String, String> dictionary) {
+        if (node.isTextual()) {
+            String translation = dictionary.get(node.asText());
+            return translation != null ? TextNode.valueOf(translation) : node;
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            for (Iterator<Map.Entry<String, JsonNode>> fields = object.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                field.setValue(replace(field.getValue(), dictionary));
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                ((ArrayNode) node).set(i, replace(node.get(i), dictionary));
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,199 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The pending segments in the form they are sent to the provider. Every text is normalized (outer
+ * whitespace trimmed, runs of spaces and tabs collapsed) and repeated texts are sent once: each
+ * {@link Entry} references all segments that share its normalized text. A translation is written back
+ * to every segment of its entry with that segment's own outer whitespace restored.
+ */
+final class PromptPayload {
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[ \\t]{2,}|\\t");
+
+    private final List<Entry> entries;
+
+    record Entry(String text, List<ResumeSegments.Segment> segments) {
+    }
+
+    /**
+     * The entries laid out in the shape of the resume, for the JSON prompt format. Each entry sits at
+     * the path of its first segment with nothing else around it; array elements without an entry are
+     * left out, so {@code paths} holds the renumbered path of every entry.
+     */
+    record Tree(ObjectNode root, List<String> paths) {
+    }
+
+    private PromptPayload(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    static PromptPayload of(List<ResumeSegments.Segment> segments) {
+        Map<String, List<ResumeSegments.Segment>> byText = new LinkedHashMap<>();
+        for (ResumeSegments.Segment segment : segments) {
+            byText.computeIfAbsent(normalize(segment.text()), text -> new ArrayList<>(1)).add(segment);
+        }
+        List<Entry> entries = new ArrayList<>(byText.size());
+        byText.forEach((text, shared) -> entries.add(new Entry(text, shared)));
+        return new PromptPayload(entries);
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Writes the translation of entry {@code index} for every segment that shares it.
+     */
+    void restore(int index, String translation, Map<String, String> byPath) {
+        for (ResumeSegments.Segment segment : entries.get(index).segments()) {
+            byPath.put(segment.path(), restore(segment.text(), translation));
+        }
+    }
+
+    /**
+     * Reads the translation of every entry from a reply shaped like {@link #tree}.
+     */
+    Map<String, String> restore(JsonNode translated, List<String> paths) {
+        Map<String, String> byPath = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String translation = ResumeSegments.textAt(translated, paths.get(i));
+            if (translation != null) {
+                restore(i, translation, byPath);
+            }
+        }
+        return byPath;
+    }
+
+    Tree tree(JsonNode sourceTree, ObjectMapper objectMapper) {
+        ObjectNode root = objectMapper.createObjectNode();
+        List<String> paths = new ArrayList<>(entries.size());
+        // Source array element path -> its index in the compact tree
+        Map<String, Integer> renumbered = new HashMap<>();
+
+        for (Entry entry : entries) {
+            JsonPointer pointer = JsonPointer.compile(entry.segments().get(0).path());
+            JsonNode source = sourceTree;
+            JsonNode compact = root;
+            StringBuilder sourcePath = new StringBuilder();
+            StringBuilder compactPath = new StringBuilder();
+            while (!pointer.matches()) {
+                boolean leaf = pointer.tail().matches();
+                if (source.isArray()) {
+                    int index = pointer.getMatchingIndex();
+                    source = source.get(index);
+                    sourcePath.append('/').append(index);
+                    ArrayNode array = (ArrayNode) compact;
+                    Integer position = renumbered.get(sourcePath.toString());
+                    if (position == null) {
+                        position = array.size();
+                        renumbered.put(sourcePath.toString(), position);
+                        if (leaf) {
+                            array.add(entry.text());
+                        } else {
+                            array.add(source.isArray() ? array.arrayNode() : array.objectNode());
+                        }
+                    }
+                    compactPath.append('/').append(position);
+                    compact = array.get(position);
+                } else {
+                    String name = pointer.getMatchingProperty();
+                    source = source.get(name);
+                    sourcePath.append('/').append(ResumeSegments.escape(name));
+                    compactPath.append('/').append(ResumeSegments.escape(name));
+                    ObjectNode object = (ObjectNode) compact;
+                    if (leaf) {
+                        object.put(name, entry.text());
+                    } else if (!object.has(name)) {
+                        object.set(name, source.isArray() ? object.arrayNode() : object.objectNode());
+                    }
+                    compact = object.get(name);
+                }
+                pointer = pointer.tail();
+            }
+            paths.add(compactPath.toString());
+        }
+        return new Tree(root, paths);
+    }
+
+    static String normalize(String text) {
+        String stripped = text.strip();
+        Matcher whitespace = HORIZONTAL_WHITESPACE.matcher(stripped);
+        return whitespace.find() ? whitespace.replaceAll(" ") : stripped;
+    }
+
+    /**
+     * Puts the outer whitespace of {@code source} around {@code translation}.
+     */
+    static String restore(String source, String translation) {
+        int start = 0;
+        while (start < source.length() && Character.isWhitespace(source.charAt(start))) {
+            start++;
+        }
+        int end = source.length();
+        while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+            end--;
+        }
+        if (start == 0 && end == source.length()) {
+            return translation;
+        }
+        return source.substring(0, start) + translation.strip() + source.substring(end);
+    }
+
+    /**
+     * Bytes {@code value} takes as JSON, counted without keeping the output.
+     */
+    static long serializedSize(Object value, ObjectMapper objectMapper) throws IOException {
+        ByteCounter counter = new ByteCounter();
+        objectMapper.writeValue(counter, value);
+        return counter.count;
+    }
+
+    static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // The pair encodes as four bytes
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static final class ByteCounter extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package salt.backend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.config.TranslationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ordered failover over several {@link TranslationProvider}s. A call goes to the first provider and
+ * moves on to the next one when it fails. Every provider keeps a latency and error-rate EWMA; one
+ * that passes {@code max-latency} or {@code max-error-rate} is demoted behind the others for the
+ * demotion period, so later calls route around a slow provider instead of waiting it out.
+ */
+@Slf4j
+public class ProviderChain {
+
+    // Weight of the newest sample in the latency and error-rate EWMAs
+    private static final double SMOOTHING = 0.2;
+
+    private final List<Link> links;
+    private final long maxLatencyNanos;
+    private final double maxErrorRate;
+    private final long demotionNanos;
+    private final TranslationMetrics metrics;
+    private final LongSupplier nanoClock;
+
+    public ProviderChain(List<TranslationProvider> providers, TranslationProperties.Providers settings,
+                         TranslationMetrics metrics) {
+        this(providers, settings, metrics, System::nanoTime);
+    }
+
+    ProviderChain(List<TranslationProvider> providers, TranslationProperties.Providers settings,
+                  TranslationMetrics metrics, LongSupplier nanoClock) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one translation provider is required");
+        }
+        this.nanoClock = nanoClock;
+        this.links = providers.stream().map(Link::new).toList();
+        this.maxLatencyNanos = settings.getMaxLatency().toNanos();
+        this.maxErrorRate = settings.getMaxErrorRate();
+        this.demotionNanos = settings.getDemotion().toNanos();
+        this.metrics = metrics;
+    }
+
+    /**
+     * The first configured provider; its model identifies cached translations.
+     */
+    public TranslationProvider primary() {
+        return links.get(0).provider;
+    }
+
+    public <T extends TranslationProvider> T find(Class<T> type) {
+        for (Link link : links) {
+            if (type.isInstance(link.provider)) {
+                return type.cast(link.provider);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Translates with the first provider that succeeds and returns its reply together with the provider.
+     * When every provider fails, the last failure is rethrown. Once the request's {@link RequestDeadline}
+     * is done, no further provider is tried.
+     */
+    public Reply translate(TranslationProvider.Request request) throws Exception {
+        List<Link> order = order();
+        Exception lastException = null;
+        for (Link link : order) {
+            RequestDeadline.current().check();
+            long start = nanoClock.getAsLong();
+            try {
+                String text = link.provider.translate(request);
+                link.recordSuccess(nanoClock.getAsLong() - start);
+                return new Reply(text, link.provider);
+            } catch (Exception e) {
+                if (RequestDeadline.current().isDone()) {
+                    // Abandoned by the client, not a provider failure
+                    throw e;
+                }
+                link.recordFailure(nanoClock.getAsLong() - start);
+                lastException = e;
+                if (link != order.get(order.size() - 1)) {
+                    log.warn("↪️ Provider {} failed, falling over to the next provider: {}", link.provider.name(), e.getMessage());
+                }
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * Streams from the first provider that succeeds. Once part of the reply has reached the client
+     * ({@link TranslationProvider.StreamSink#committed()}) a failure is rethrown instead of moving on.
+     *
+     * @return the provider that delivered the reply
+     */
+    public TranslationProvider translateStream(TranslationProvider.Request request,
+                                               TranslationProvider.StreamSink sink) throws Exception {
+        List<Link> order = order();
+        Exception lastException = null;
+        for (Link link : order) {
+            RequestDeadline.current().check();
+            long start = nanoClock.getAsLong();
+            try {
+                link.provider.translateStream(request, sink);
+                link.recordSuccess(nanoClock.getAsLong() - start);
+                return link.provider;
+            } catch (Exception e) {
+                if (RequestDeadline.current().isDone()) {
+                    throw e;
+                }
+                link.recordFailure(nanoClock.getAsLong() - start);
+                if (sink.committed()) {
+                    throw e;
+                }
+                lastException = e;
+                if (link != order.get(order.size() - 1)) {
+                    log.warn("↪️ Provider {} failed, falling over to the next provider: {}", link.provider.name(), e.getMessage());
+                }
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * Providers in configured order, demoted ones moved behind the rest (still in configured order).
+     */
+    private List<Link> order() {
+        long now = nanoClock.getAsLong();
+        List<Link> active = new ArrayList<>(links.size());
+        List<Link> demoted = new ArrayList<>();
+        for (Link link : links) {
+            (link.demotedUntil.get() - now > 0 ? demoted : active).add(link);
+        }
+        active.addAll(demoted);
+        return active;
+    }
+
+    public List<ProviderStatus> status() {
+        long now = nanoClock.getAsLong();
+        return links.stream()
+                .map(link -> new ProviderStatus(link.provider.name(), link.provider.model(),
+                        link.demotedUntil.get() - now > 0, link.latency() / 1_000_000, link.errorRate()))
+                .toList();
+    }
+
+    public record Reply(String text, TranslationProvider provider) {
+    }
+
+    public record ProviderStatus(String name, String model, boolean demoted, double latencyMs, double errorRate) {
+    }
+
+    private final class Link {
+        private final TranslationProvider provider;
+        // Both EWMAs are stored as raw double bits
+        private final AtomicLong latencyBits = new AtomicLong();
+        private final AtomicLong errorRateBits = new AtomicLong();
+        private final AtomicLong demotedUntil;
+
+        private Link(TranslationProvider provider) {
+            this.provider = provider;
+            this.demotedUntil = new AtomicLong(nanoClock.getAsLong());
+        }
+
+        private void recordSuccess(long latencyNanos) {
+            metrics.recordProviderOutcome(provider.name(), true);
+            updateLatency(latencyNanos);
+            update(errorRateBits, 0);
+            checkThresholds();
+        }
+
+        private void recordFailure(long latencyNanos) {
+            metrics.recordProviderOutcome(provider.name(), false);
+            updateLatency(latencyNanos);
+            update(errorRateBits, 1);
+            checkThresholds();
+        }
+
+        private void checkThresholds() {
+            double latency = latency();
+            double errorRate = errorRate();
+            if (links.size() > 1 && (latency > maxLatencyNanos || errorRate > maxErrorRate)) {
+                long now = nanoClock.getAsLong();
+                long previous = demotedUntil.getAndSet(now + demotionNanos);
+                if (previous - now <= 0) {
+                    log.warn("🐢 Provider {} demoted for {} ms (latency {} ms, error rate {})", provider.name(),
+                            demotionNanos / 1_000_000, Math.round(latency / 1_000_000), String.format("%.2f", errorRate));
+                }
+            }
+        }
+
+        private void updateLatency(long latencyNanos) {
+            latencyBits.getAndUpdate(current -> {
+                double previous = Double.longBitsToDouble(current);
+                double next = previous == 0 ? latencyNanos : previous + SMOOTHING * (latencyNanos - previous);
+                return Double.doubleToRawLongBits(next);
+            });
+        }
+
+        private double latency() {
+            return Double.longBitsToDouble(latencyBits.get());
+        }
+
+        private double errorRate() {
+            return Double.longBitsToDouble(errorRateBits.get());
+        }
+    }
+
+    private static void update(AtomicLong bits, double sample) {
+        bits.getAndUpdate(current -> {
+            double previous = Double.longBitsToDouble(current);
+            return Double.doubleToRawLongBits(previous + SMOOTHING * (sample - previous));
+        });
+    }
+}
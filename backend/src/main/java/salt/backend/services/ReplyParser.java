@@ -0,0 +1,44 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import salt.backend.dto.ResumeDto;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Reads provider replies with a streaming {@link JsonParser} straight from the reply text. Anything
+ * before the opening brace (a markdown fence, a line of preamble) is skipped by offset, and parsing
+ * stops at the brace that closes the root object, so a closing fence or trailing remark is never
+ * read. No trimmed or cleaned copy of the reply is made, which matters for replies of hundreds of KB.
+ */
+final class ReplyParser {
+
+    private ReplyParser() {
+    }
+
+    /**
+     * A parser positioned before the root object of the reply; the caller closes it.
+     */
+    static JsonParser open(String reply, ObjectMapper objectMapper) throws IOException {
+        int start = reply != null ? reply.indexOf('{') : -1;
+        if (start < 0) {
+            throw new JsonParseException((JsonParser) null, "Expected a JSON object in the provider reply");
+        }
+        // Jackson reads a Reader through its own recycled buffers instead of copying the whole string
+        StringReader reader = new StringReader(reply);
+        reader.skip(start);
+        return objectMapper.getFactory().createParser(reader);
+    }
+
+    /**
+     * Binds a resume-shaped reply to a {@link ResumeDto} in one pass.
+     */
+    static ResumeDto readResume(String reply, ObjectMapper objectMapper) throws IOException {
+        try (JsonParser parser = open(reply, objectMapper)) {
+            return objectMapper.readValue(parser, ResumeDto.class);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Recovers what it can from a reply that failed to parse. Trailing commas and raw line breaks inside
+ * strings are accepted, quotes inside a string that do not end it are escaped, and the members of the
+ * root object are read one by one until the first defect that cannot be repaired, e.g. where the reply
+ * was cut off. Members read before that point are kept; the member the defect falls in is dropped.
+ */
+final class ReplySalvage {
+
+    private static final JsonFactory LENIENT = JsonFactory.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .build();
+
+    private ReplySalvage() {
+    }
+
+    /**
+     * The members of the reply's root object that could be read completely, in reply order.
+     */
+    static ObjectNode members(String reply, ObjectMapper objectMapper) {
+        ObjectNode members = objectMapper.createObjectNode();
+        int start = reply != null ? reply.indexOf('{') : -1;
+        if (start < 0) {
+            return members;
+        }
+        try (JsonParser parser = LENIENT.createParser(new StringReader(escapeStrayQuotes(reply, start)))) {
+            parser.nextToken();
+            // A string value only counts once the next member or the closing brace proves where it ended
+            String pendingName = null;
+            JsonNode pendingValue = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if (pendingName != null) {
+                    members.set(pendingName, pendingValue);
+                    pendingName = null;
+                }
+                String name = parser.currentName();
+                parser.nextToken();
+                JsonNode value = objectMapper.readTree(parser);
+                if (value.isContainerNode()) {
+                    members.set(name, value);
+                } else {
+                    pendingName = name;
+                    pendingValue = value;
+                }
+            }
+            if (pendingName != null) {
+                members.set(pendingName, pendingValue);
+            }
+        } catch (IOException e) {
+            // Keep everything read before the defect
+        }
+        return members;
+    }
+
+    /**
+     * Escapes quotes inside strings that are not followed by what may come after a closing quote
+     * ({@code , : } ]} or the end of the reply), e.g. {@code "the "best" team"}. Returns the reply
+     * from {@code start} on.
+     */
+    static String escapeStrayQuotes(String reply, int start) {
+        StringBuilder repaired = null;
+        boolean inString = false;
+        int copied = start;
+        for (int i = start; i < reply.length(); i++) {
+            char c = reply.charAt(i);
+            if (!inString) {
+                inString = c == '"';
+            } else if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                if (endsString(reply, i + 1)) {
+                    inString = false;
+                } else {
+                    if (repaired == null) {
+                        repaired = new StringBuilder(reply.length() - start + 16);
+                    }
+                    repaired.append(reply, copied, i).append('\\');
+                    copied = i;
+                }
+            }
+        }
+        if (repaired == null) {
+            return reply.substring(start);
+        }
+        return repaired.append(reply, copied, reply.length()).toString();
+    }
+
+    private static boolean endsString(String reply, int from) {
+        for (int i = from; i < reply.length(); i++) {
+            char c = reply.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == ',' || c == ':' || c == '}' || c == ']';
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,157 @@
+package salt.backend.services;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Time budget of one client request, and whether the client is still waiting for the answer.
+ * <p>
+ * {@link #call(Callable)} makes the deadline current for the translation it runs and for every
+ * thread that translation starts (fan-out units, batch languages, hedged attempts), so provider
+ * code can check it with {@link #current()} without it being passed through every call.
+ * Once the budget is spent or the request was {@link #cancel() cancelled}, {@link #check()} stops
+ * any new provider attempt. Cancelling also interrupts the thread running the translation, which
+ * aborts the provider call in flight.
+ */
+public final class RequestDeadline {
+
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private static final RequestDeadline NONE = new RequestDeadline(Long.MAX_VALUE, null);
+    // Inherited by threads the translation starts, so fan-out and hedged attempts share the deadline
+    private static final InheritableThreadLocal<RequestDeadline> CURRENT = new InheritableThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration timeout;
+    private volatile boolean cancelled;
+    private Thread owner;
+
+    private RequestDeadline(long deadlineNanos, Duration timeout) {
+        this.deadlineNanos = deadlineNanos;
+        this.timeout = timeout;
+    }
+
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(System.nanoTime() + timeout.toNanos(), timeout);
+    }
+
+    /**
+     * A deadline that never expires, e.g. for background jobs. It is never cancelled either.
+     */
+    public static RequestDeadline none() {
+        return NONE;
+    }
+
+    /**
+     * The deadline of the translation running on this thread, or {@link #none()}.
+     */
+    public static RequestDeadline current() {
+        RequestDeadline deadline = CURRENT.get();
+        return deadline != null ? deadline : NONE;
+    }
+
+    /**
+     * Runs {@code work} with this deadline current. A failure caused by the deadline or by
+     * cancellation is reported as {@link TimeoutException} or {@link CancellationException}.
+     */
+    public <T> T call(Callable<T> work) throws Exception {
+        if (this == NONE) {
+            return work.call();
+        }
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        synchronized (this) {
+            owner = Thread.currentThread();
+        }
+        try {
+            check();
+            return work.call();
+        } catch (Exception e) {
+            throw explain(e);
+        } finally {
+            synchronized (this) {
+                owner = null;
+                // A cancel that raced with completion must not leak into the next task of this thread
+                Thread.interrupted();
+            }
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Marks the request as abandoned by its client and interrupts the translation running for it.
+     */
+    public void cancel() {
+        if (this == NONE) {
+            return;
+        }
+        cancelled = true;
+        synchronized (this) {
+            if (owner != null) {
+                owner.interrupt();
+            }
+        }
+    }
+
+    /**
+     * The failure as the caller should see it: when this deadline is done, e.g. a provider call
+     * that broke off because it was interrupted, it is reported as {@link TimeoutException} or
+     * {@link CancellationException} with the original failure as cause.
+     */
+    public Exception explain(Exception failure) {
+        if (failure instanceof TimeoutException || failure instanceof CancellationException) {
+            return failure;
+        }
+        Exception abandoned = abandoned();
+        if (abandoned == null) {
+            return failure;
+        }
+        abandoned.initCause(failure);
+        return abandoned;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public boolean isDone() {
+        return cancelled || isExpired();
+    }
+
+    public long remainingNanos() {
+        return this == NONE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Throws when no further provider attempt should start.
+     */
+    public void check() throws TimeoutException {
+        Exception abandoned = abandoned();
+        if (abandoned instanceof TimeoutException timeoutException) {
+            throw timeoutException;
+        }
+        if (abandoned != null) {
+            throw (CancellationException) abandoned;
+        }
+    }
+
+    private Exception abandoned() {
+        if (cancelled) {
+            return new CancellationException("Client is no longer waiting for the translation");
+        }
+        if (isExpired()) {
+            return new TimeoutException("Translation deadline of " + timeout.toMillis() + " ms exceeded");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural diff between an edited resume and the source of its previous translation.
+ * Works on the segment level: unchanged text keeps the translation the user already has.
+ */
+final class ResumeDelta {
+
+    private ResumeDelta() {
+    }
+
+    /**
+     * Maps segment paths of the new source to translations carried over from the previous pair.
+     * A segment is carried over when the previous source had the same text at the same path, or,
+     * when list items moved, the same text anywhere else. Everything else needs translating.
+     * Both sides are compared in their externalized form, and carried translations keep their
+     * blob placeholders so they are written back like fresh ones.
+     */
+    static Map<String, String> carryOver(JsonNode previousSource, JsonNode previousTranslation,
+                                         List<ResumeSegments.Segment> segments, BlobExternalizer blobs) {
+        Map<String, String> carried = new HashMap<>();
+        if (previousSource == null || previousTranslation == null) {
+            return carried;
+        }
+
+        BlobExternalizer.Externalized previous = blobs.externalize(ResumeSegments.extract(previousSource));
+        Map<String, ResumeSegments.Segment> byPath = new HashMap<>();
+        Map<String, String> byText = new HashMap<>();
+        for (ResumeSegments.Segment segment : previous.segments()) {
+            byPath.put(segment.path(), segment);
+            String translation = translationAt(previous, previousTranslation, segment.path());
+            if (translation != null) {
+                byText.putIfAbsent(TranslationMemory.normalize(segment.text()), translation);
+            }
+        }
+
+        for (ResumeSegments.Segment segment : segments) {
+            ResumeSegments.Segment before = byPath.get(segment.path());
+            String translation = null;
+            if (before != null && segment.text().equals(before.text())) {
+                translation = translationAt(previous, previousTranslation, segment.path());
+            }
+            if (translation == null) {
+                translation = byText.get(TranslationMemory.normalize(segment.text()));
+            }
+            if (translation != null) {
+                carried.put(segment.path(), translation);
+            }
+        }
+        return carried;
+    }
+
+    private static String translationAt(BlobExternalizer.Externalized previous, JsonNode previousTranslation,
+                                        String path) {
+        return previous.detach(path, ResumeSegments.textAt(previousTranslation, path));
+    }
+}
@@ -0,0 +1,74 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import salt.backend.dto.ResumeDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Canonical content fingerprint of a {@link ResumeDto}.
+ * Properties are written in alphabetical order and null fields are dropped, so two resumes
+ * with the same content always hash to the same value regardless of how they were built.
+ */
+public final class ResumeFingerprint {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private ResumeFingerprint() {
+    }
+
+    /**
+     * SHA-256 hex digest of the canonical JSON form of the resume.
+     */
+    public static String of(ResumeDto resume) {
+        try {
+            return sha256(CANONICAL_MAPPER.writeValueAsBytes(resume));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Resume cannot be fingerprinted: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Key identifying one translation result: resume content, target language and model.
+     */
+    public static String translationKey(ResumeDto resume, String targetLanguage, String model) {
+        return translationKey(of(resume), targetLanguage, model);
+    }
+
+    /**
+     * Same as {@link #translationKey(ResumeDto, String, String)} for an already computed fingerprint.
+     */
+    public static String translationKey(String fingerprint, String targetLanguage, String model) {
+        return fingerprint + "|" + normalizeLanguage(targetLanguage) + "|" + model;
+    }
+
+    static String normalizeLanguage(String targetLanguage) {
+        return targetLanguage == null ? "" : targetLanguage.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String sha256(String content) {
+        return sha256(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a resume JSON tree into its translatable text segments.
+ * Each segment is addressed by a JSON Pointer (e.g. {@code /work/0/highlights/1}) so translations
+ * can be written back into a copy of the source tree without relying on the model to echo structure.
+ */
+final class ResumeSegments {
+
+    // Fields that are never translated wherever they appear: identifiers, contact data, dates and blobs
+    private static final Set<String> NEVER_TRANSLATED_FIELDS = Set.of(
+            "image", "email", "phone", "url", "startDate", "endDate", "date", "releaseDate",
+            "countryCode", "postalCode", "address", "username", "network", "version"
+    );
+
+    // Person and company names, addressed by shape path with array indices replaced by '*'
+    private static final Set<String> NEVER_TRANSLATED_PATHS = Set.of(
+            "/basics/name", "/work/*/name", "/volunteer/*/organization", "/references/*/name"
+    );
+
+    record Segment(String path, String text) {
+    }
+
+    private ResumeSegments() {
+    }
+
+    /**
+     * Returns every non-blank translatable string in document order.
+     */
+    static List<Segment> extract(JsonNode root) {
+        List<Segment> segments = new ArrayList<>();
+        collect(root, "", "", segments);
+        return segments;
+    }
+
+    /**
+     * Text at {@code path}, or null when the path is missing or not a string.
+     */
+    static String textAt(JsonNode root, String path) {
+        JsonNode node = root.at(path);
+        return node.isTextual() ? node.asText() : null;
+    }
+
+    /**
+     * Replaces the value at {@code path}; a missing parent leaves the tree untouched.
+     */
+    static void set(JsonNode root, String path, String value) {
+        replace(root, path, value == null ? null : TextNode.valueOf(value));
+    }
+
+    static void clear(JsonNode root, String path) {
+        replace(root, path, null);
+    }
+
+    private static void replace(JsonNode root, String path, JsonNode value) {
+        JsonPointer pointer = JsonPointer.compile(path);
+        JsonNode parent = root.at(pointer.head());
+        JsonPointer last = pointer.last();
+        if (parent instanceof ObjectNode object) {
+            object.set(last.getMatchingProperty(), value);
+        } else if (parent instanceof ArrayNode array) {
+            int index = last.getMatchingIndex();
+            if (index >= 0 && index < array.size()) {
+                array.set(index, value);
+            }
+        }
+    }
+
+    private static void collect(JsonNode node, String path, String shape, List<Segment> segments) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String fieldShape = shape + "/" + field.getKey();
+                if (NEVER_TRANSLATED_FIELDS.contains(field.getKey()) || NEVER_TRANSLATED_PATHS.contains(fieldShape)) {
+                    continue;
+                }
+                collect(field.getValue(), path + "/" + escape(field.getKey()), fieldShape, segments);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                collect(node.get(i), path + "/" + i, shape + "/*", segments);
+            }
+        } else if (node.isTextual() && !node.asText().isBlank()) {
+            segments.add(new Segment(path, node.asText()));
+        }
+    }
+
+    static String escape(String fieldName) {
+        return fieldName.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,87 @@
+package salt.backend.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Splits pending segments into independent translation units and runs them concurrently.
+ * Behaves like a shutdown-on-failure structured task scope: all units are forked on virtual threads
+ * inside one lexical scope, the first failure cancels the remaining siblings, and the scope is not
+ * left before every unit has finished.
+ */
+final class SectionFanOut {
+
+    private SectionFanOut() {
+    }
+
+    /**
+     * Groups segments by top-level section and cuts large sections into chunks, preserving order.
+     */
+    static List<List<ResumeSegments.Segment>> split(List<ResumeSegments.Segment> pending, int maxSegmentsPerUnit) {
+        Map<String, List<ResumeSegments.Segment>> bySection = new LinkedHashMap<>();
+        for (ResumeSegments.Segment segment : pending) {
+            bySection.computeIfAbsent(SectionStreamAssembler.sectionOf(segment.path()), section -> new ArrayList<>())
+                .add(segment);
+        }
+        int chunkSize = Math.max(1, maxSegmentsPerUnit);
+        List<List<ResumeSegments.Segment>> units = new ArrayList<>();
+        for (List<ResumeSegments.Segment> section : bySection.values()) {
+            for (int from = 0; from < section.size(); from += chunkSize) {
+                units.add(List.copyOf(section.subList(from, Math.min(section.size(), from + chunkSize))));
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Runs every task on its own virtual thread, at most {@code maxParallelism} at a time, and returns
+     * the results in task order. The first failure cancels the other tasks and is rethrown.
+     */
+    static <T> List<T> invokeAll(List<Callable<T>> tasks, int maxParallelism) throws Exception {
+        Semaphore permits = new Semaphore(Math.max(1, maxParallelism));
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(scope);
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int done = 0; done < tasks.size(); done++) {
+                Future<T> finished = completion.take();
+                try {
+                    finished.get();
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+}
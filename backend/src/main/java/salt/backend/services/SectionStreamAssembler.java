@@ -0,0 +1,160 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.dto.ResumeDto;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebuilds a translated resume from streamed segments and hands each top-level section to the
+ * listener as soon as every pending segment of that section has arrived.
+ */
+@Slf4j
+final class SectionStreamAssembler {
+
+    private final JsonNode sourceTree;
+    private final JsonNode result;
+    private final PromptPayload payload;
+    private final BlobExternalizer.Externalized blobs;
+    private final ObjectMapper objectMapper;
+    private final TranslationSectionListener listener;
+
+    private final Map<String, String> provided = new HashMap<>();
+    private final Map<String, Integer> outstanding = new LinkedHashMap<>();
+    private final Set<String> emitted = new LinkedHashSet<>();
+    private boolean streamedProviderSection;
+
+    SectionStreamAssembler(JsonNode sourceTree, Map<String, String> known, List<ResumeSegments.Segment> pending,
+                           BlobExternalizer.Externalized blobs, ObjectMapper objectMapper,
+                           TranslationSectionListener listener) {
+        this.sourceTree = sourceTree;
+        this.result = sourceTree.deepCopy();
+        this.payload = PromptPayload.of(pending);
+        this.blobs = blobs;
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        known.forEach((path, translation) -> ResumeSegments.set(result, path, blobs.reattach(path, translation)));
+
+        Iterator<Map.Entry<String, JsonNode>> sections = sourceTree.fields();
+        while (sections.hasNext()) {
+            Map.Entry<String, JsonNode> section = sections.next();
+            if (!section.getValue().isNull()) {
+                outstanding.put(section.getKey(), 0);
+            }
+        }
+        for (ResumeSegments.Segment segment : pending) {
+            outstanding.merge(sectionOf(segment.path()), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Emits every section that needs nothing from the provider.
+     */
+    void emitReadySections() throws Exception {
+        for (Map.Entry<String, Integer> section : outstanding.entrySet()) {
+            if (section.getValue() == 0) {
+                emit(section.getKey());
+            }
+        }
+    }
+
+    /**
+     * Accepts one numbered entry of the reply and writes it to every segment sharing that entry, with
+     * blob placeholders filled in; unknown or repeated numbers are ignored.
+     */
+    void accept(String key, String translation) throws Exception {
+        int index;
+        try {
+            index = Integer.parseInt(key) - 1;
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (index < 0 || index >= payload.entries().size()) {
+            return;
+        }
+        for (ResumeSegments.Segment segment : payload.entries().get(index).segments()) {
+            String restored = PromptPayload.restore(segment.text(), translation);
+            if (provided.putIfAbsent(segment.path(), restored) != null) {
+                continue;
+            }
+            ResumeSegments.set(result, segment.path(), blobs.reattach(segment.path(), restored));
+
+            String section = sectionOf(segment.path());
+            int left = outstanding.merge(section, -1, Integer::sum);
+            if (left == 0) {
+                streamedProviderSection = true;
+                emit(section);
+            }
+        }
+    }
+
+    /**
+     * Emits sections the model left incomplete; their missing segments keep the source text.
+     *
+     * @return whether every pending segment arrived
+     */
+    boolean finish() throws Exception {
+        boolean complete = true;
+        for (Map.Entry<String, Integer> section : outstanding.entrySet()) {
+            if (section.getValue() > 0) {
+                complete = false;
+            }
+            if (!emitted.contains(section.getKey())) {
+                log.warn("Section {} incomplete in streamed reply, keeping source text for missing segments",
+                    section.getKey());
+                emit(section.getKey());
+            }
+        }
+        return complete;
+    }
+
+    boolean hasStreamedProviderSection() {
+        return streamedProviderSection;
+    }
+
+    Map<String, String> provided() {
+        return provided;
+    }
+
+    JsonNode result() {
+        return result;
+    }
+
+    private void emit(String section) throws Exception {
+        if (!emitted.add(section)) {
+            return;
+        }
+        JsonNode value = result.get(section);
+        if (!isValid(section, value)) {
+            log.warn("Translated section {} does not bind to the resume schema, sending source instead", section);
+            value = sourceTree.get(section);
+            ((ObjectNode) result).set(section, value.deepCopy());
+        }
+        listener.onSection(section, value.deepCopy());
+    }
+
+    private boolean isValid(String section, JsonNode value) {
+        ObjectNode wrapper = objectMapper.createObjectNode();
+        wrapper.set(section, value);
+        try {
+            objectMapper.treeToValue(wrapper, ResumeDto.class);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    static String sectionOf(String path) {
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path.substring(1) : path.substring(1, end);
+    }
+}
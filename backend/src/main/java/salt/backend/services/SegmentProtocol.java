@@ -0,0 +1,137 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat wire format between the service and the model: a JSON object mapping segment numbers to text,
+ * e.g. {@code {"1":"Senior Developer","2":"Built the API"}}. The model answers with the same keys,
+ * so no field names, URLs, dates or structure ever travel through the prompt. Numbers stand for
+ * {@link PromptPayload} entries, so segments with the same text share one number.
+ */
+final class SegmentProtocol {
+
+    private SegmentProtocol() {
+    }
+
+    /**
+     * Numbers the {@link PromptPayload} entries of the segments from 1 in order of first appearance,
+     * so a text repeated across segments is sent once.
+     */
+    static String encode(List<ResumeSegments.Segment> segments, ObjectMapper objectMapper) throws JsonProcessingException {
+        List<PromptPayload.Entry> entries = PromptPayload.of(segments).entries();
+        Map<String, String> numbered = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            numbered.put(String.valueOf(i + 1), entries.get(i).text());
+        }
+        return objectMapper.writeValueAsString(numbered);
+    }
+
+    /**
+     * Bytes the segments would take numbered one by one as they are, i.e. without compaction.
+     */
+    static long uncompactedSize(List<ResumeSegments.Segment> segments, ObjectMapper objectMapper) throws IOException {
+        Map<String, String> numbered = new LinkedHashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            numbered.put(String.valueOf(i + 1), segments.get(i).text());
+        }
+        return PromptPayload.serializedSize(numbered, objectMapper);
+    }
+
+    /**
+     * Maps the model reply back to segment paths. Segments the model did not answer are left out,
+     * so the caller keeps their source text. Numbered replies are read token by token without
+     * building a tree. If the model ignored the protocol and echoed a resume-shaped object instead,
+     * its values are read by path.
+     */
+    static Map<String, String> decode(String reply, List<ResumeSegments.Segment> segments,
+                                      ObjectMapper objectMapper) throws IOException {
+        PromptPayload payload = PromptPayload.of(segments);
+        int size = payload.entries().size();
+        Map<String, String> byPath = new HashMap<>();
+        try (JsonParser parser = ReplyParser.open(reply, objectMapper)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int number = segmentNumber(parser.currentName());
+                if (number < 0) {
+                    return decodeByPath(reply, segments, objectMapper);
+                }
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING && number >= 1 && number <= size) {
+                    payload.restore(number - 1, parser.getText(), byPath);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object of numbered segments");
+            }
+        }
+        return byPath;
+    }
+
+    /**
+     * Like {@link #decode}, for a reply that failed to parse: maps whatever {@link ReplySalvage} could
+     * recover. Segments that were lost are left out.
+     */
+    static Map<String, String> salvage(String reply, List<ResumeSegments.Segment> segments,
+                                       ObjectMapper objectMapper) {
+        ObjectNode members = ReplySalvage.members(reply, objectMapper);
+        Iterator<String> names = members.fieldNames();
+        while (names.hasNext()) {
+            if (segmentNumber(names.next()) < 0) {
+                return byPath(members, segments);
+            }
+        }
+        PromptPayload payload = PromptPayload.of(segments);
+        Map<String, String> byPath = new HashMap<>();
+        for (int i = 0; i < payload.entries().size(); i++) {
+            JsonNode value = members.get(String.valueOf(i + 1));
+            if (value != null && value.isTextual()) {
+                payload.restore(i, value.asText(), byPath);
+            }
+        }
+        return byPath;
+    }
+
+    private static Map<String, String> decodeByPath(String reply, List<ResumeSegments.Segment> segments,
+                                                    ObjectMapper objectMapper) throws IOException {
+        try (JsonParser parser = ReplyParser.open(reply, objectMapper)) {
+            return byPath(objectMapper.readTree(parser), segments);
+        }
+    }
+
+    private static Map<String, String> byPath(JsonNode root, List<ResumeSegments.Segment> segments) {
+        Map<String, String> byPath = new HashMap<>();
+        for (ResumeSegments.Segment segment : segments) {
+            String value = ResumeSegments.textAt(root, segment.path());
+            if (value != null) {
+                byPath.put(segment.path(), value);
+            }
+        }
+        return byPath;
+    }
+
+    /**
+     * The segment number a reply key stands for, or -1 if the key is not a plain number.
+     */
+    private static int segmentNumber(String name) {
+        if (name.isEmpty() || name.length() > 9 || !name.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        // "01" is not the key the segment was sent under
+        return name.charAt(0) == '0' && name.length() > 1 ? 0 : Integer.parseInt(name);
+    }
+}
@@ -0,0 +1,78 @@
+package salt.backend.services;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the work, everyone arriving
+ * while it is in flight waits for it, at most until its own {@link RequestDeadline}, and receives
+ * the same outcome, result or failure. The key is released as soon as the call completes, so later
+ * callers start a fresh call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copyForFollower;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * @param copyForFollower applied to the shared result before it is handed to a waiting caller,
+     *                        so callers never share a mutable instance
+     */
+    public SingleFlight(UnaryOperator<V> copyForFollower) {
+        this.copyForFollower = copyForFollower;
+    }
+
+    public V execute(K key, Callable<V> call) throws Exception {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return copyForFollower.apply(await(existing));
+        }
+
+        calls.incrementAndGet();
+        try {
+            V result = call.call();
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too: a future left pending would hang every follower
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(calls.get(), coalesced.get(), inFlight.size());
+    }
+
+    // A follower waits no longer than its own deadline, whatever the caller running the work has left
+    private static <V> V await(CompletableFuture<V> shared) throws Exception {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            return shared.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            deadline.check();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record Stats(long calls, long coalesced, int inFlight) {
+    }
+}
@@ -0,0 +1,94 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incrementally parses a streamed numbered-segment reply ({@code {"1":"...","2":"..."}}).
+ * Each completed top-level string member is handed to the handler as soon as its closing quote arrives,
+ * even when keys and values are split across chunks. Text before the opening brace (such as a markdown
+ * fence) and anything after the closing brace is ignored.
+ */
+final class StreamingSegmentParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @FunctionalInterface
+    interface SegmentHandler {
+        void onSegment(String key, String text) throws Exception;
+    }
+
+    private final SegmentHandler handler;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String currentKey;
+
+    StreamingSegmentParser(SegmentHandler handler) throws IOException {
+        this.handler = handler;
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    void feed(String chunk) throws Exception {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * True once the closing brace of the reply object has been read.
+     */
+    boolean isComplete() {
+        return finished;
+    }
+
+    private void drain() throws Exception {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth == 0) {
+                        finished = true;
+                        feeder.endOfInput();
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        currentKey = parser.currentName();
+                    }
+                }
+                case VALUE_STRING -> {
+                    if (depth == 1 && currentKey != null) {
+                        handler.onSegment(currentKey, parser.getText());
+                        currentKey = null;
+                    }
+                }
+                default -> {
+                    // Numbers, nulls and nested values are not part of the protocol
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import salt.backend.dto.ResumeDto;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size- and TTL-bounded LRU cache of translated resumes, bounded both by entry count and by the bytes
+ * of serialized JSON held, so a few very large resumes cannot fill the heap.
+ * Results are stored as serialized JSON so callers always get an independent copy
+ * and can mutate it freely without corrupting the cached entry.
+ * With a {@link DiskTranslationStore} every result is also written to disk, and misses fall
+ * through to it, so translations survive restarts and outlive the in-memory size bound.
+ */
+@Slf4j
+public class TranslationCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ObjectMapper objectMapper;
+    private final LinkedHashMap<String, Entry> entries;
+    private final DiskTranslationStore disk;
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TranslationCache(int maxEntries, Duration ttl, ObjectMapper objectMapper) {
+        this(maxEntries, ttl, objectMapper, (DiskTranslationStore) null);
+    }
+
+    public TranslationCache(int maxEntries, Duration ttl, ObjectMapper objectMapper, DiskTranslationStore disk) {
+        this(maxEntries, Long.MAX_VALUE, ttl, objectMapper, disk);
+    }
+
+    public TranslationCache(int maxEntries, long maxBytes, Duration ttl, ObjectMapper objectMapper,
+                            DiskTranslationStore disk) {
+        this(maxEntries, maxBytes, ttl, objectMapper, disk, Clock.systemUTC());
+    }
+
+    TranslationCache(int maxEntries, Duration ttl, ObjectMapper objectMapper, Clock clock) {
+        this(maxEntries, Long.MAX_VALUE, ttl, objectMapper, null, clock);
+    }
+
+    TranslationCache(int maxEntries, long maxBytes, Duration ttl, ObjectMapper objectMapper,
+                     DiskTranslationStore disk, Clock clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        this.disk = disk;
+        // Access order turns the map into an LRU list; the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public Optional<ResumeDto> get(String key) {
+        byte[] json = null;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis <= clock.millis()) {
+                forget(entries.remove(key));
+                evictions.incrementAndGet();
+            } else if (entry != null) {
+                json = entry.json;
+            }
+        }
+        if (json == null && disk != null) {
+            json = disk.get(diskKey(key), ttl).orElse(null);
+            if (json != null) {
+                diskHits.incrementAndGet();
+                remember(key, json);
+            }
+        }
+        if (json == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        try {
+            hits.incrementAndGet();
+            return Optional.of(objectMapper.readValue(json, ResumeDto.class));
+        } catch (IOException e) {
+            log.warn("Dropping unreadable translation cache entry", e);
+            invalidate(key);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, ResumeDto translated) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(translated);
+        } catch (JsonProcessingException e) {
+            log.warn("Translation result could not be cached", e);
+            return;
+        }
+        remember(key, json);
+        if (disk != null) {
+            disk.put(diskKey(key), json);
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (entries) {
+            forget(entries.remove(key));
+        }
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size(), diskHits.get());
+        }
+    }
+
+    /**
+     * Keeps the JSON in memory. A result larger than the whole byte bound is only kept on disk.
+     */
+    private void remember(String key, byte[] json) {
+        long expiresAt = clock.millis() + ttl.toMillis();
+        synchronized (entries) {
+            if (json.length > maxBytes) {
+                forget(entries.remove(key));
+                return;
+            }
+            forget(entries.put(key, new Entry(json, expiresAt)));
+            bytes += json.length;
+            evictOverflow();
+        }
+    }
+
+    private void forget(Entry entry) {
+        if (entry != null) {
+            bytes -= entry.json.length;
+        }
+    }
+
+    private boolean overflowing() {
+        return entries.size() > maxEntries || bytes > maxBytes;
+    }
+
+    private static String diskKey(String key) {
+        return "resume|" + key;
+    }
+
+    private void evictOverflow() {
+        if (!overflowing()) {
+            return;
+        }
+        // Drop expired entries first, then fall back to least recently used
+        long now = clock.millis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && overflowing()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.expiresAtMillis <= now) {
+                iterator.remove();
+                forget(entry);
+                evictions.incrementAndGet();
+            }
+        }
+        iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && overflowing()) {
+            forget(iterator.next().getValue());
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@code hits} includes the {@code diskHits} that were served from the disk tier.
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long diskHits) {
+    }
+
+    private record Entry(byte[] json, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,168 @@
+package salt.backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationJobDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs translations as background jobs so the HTTP connection does not have to wait for Gemini.
+ * Jobs go through a bounded work queue served by a fixed number of virtual-thread workers; when the
+ * queue is full, {@link #submit} throws {@link RejectedExecutionException}. A job's translation takes a
+ * slot of the shared {@link TranslationLimiter} and runs under its own {@link RequestDeadline}, like a
+ * request would. Finished jobs are kept for the configured retention window, and at most
+ * {@code max-retained} of them, then forgotten.
+ */
+@Slf4j
+@Service
+public class TranslationJobService {
+
+    private final TranslationService translationService;
+    private final TranslationLimiter translationLimiter;
+    private final TranslationProperties.Jobs settings;
+    private final Clock clock;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Finished jobs in completion order, so the oldest are evicted first
+    private final Queue<Job> finished = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public TranslationJobService(TranslationService translationService, TranslationLimiter translationLimiter,
+                                 TranslationProperties properties) {
+        this(translationService, translationLimiter, properties, Clock.systemUTC());
+    }
+
+    TranslationJobService(TranslationService translationService, TranslationLimiter translationLimiter,
+                          TranslationProperties properties, Clock clock) {
+        this.translationService = translationService;
+        this.translationLimiter = translationLimiter;
+        this.settings = properties.getJobs();
+        this.clock = clock;
+        int workerCount = Math.max(1, settings.getWorkers());
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                Thread.ofVirtual().name("translation-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queues the translation and returns its job right away.
+     *
+     * @throws RejectedExecutionException when the work queue is full
+     */
+    public TranslationJobDto submit(TranslationRequestDto request) {
+        evictExpired();
+        Job job = new Job(UUID.randomUUID().toString(), request.getTargetLanguage(), clock.instant());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("🚦 Translation job queue is full ({} queued), rejecting job", workers.getQueue().size());
+            throw e;
+        }
+        log.info("📥 Queued translation job {} for language: {}", job.id, job.targetLanguage);
+        return job.toDto();
+    }
+
+    public Optional<TranslationJobDto> find(String id) {
+        evictExpired();
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    public int queuedJobs() {
+        return workers.getQueue().size();
+    }
+
+    private void run(Job job, TranslationRequestDto request) {
+        job.status = TranslationJobDto.Status.RUNNING;
+        TranslationJobDto.Status outcome;
+        RequestDeadline deadline = RequestDeadline.after(settings.getTimeout());
+        try {
+            job.result = translationLimiter
+                    .submit(() -> deadline.call(() -> translationService.translateResume(request)))
+                    .get();
+            outcome = TranslationJobDto.Status.SUCCEEDED;
+            log.info("📝 Translation job {} completed", job.id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.error = "Translation failed";
+            outcome = TranslationJobDto.Status.FAILED;
+        } catch (Exception e) {
+            job.error = "Translation failed";
+            outcome = TranslationJobDto.Status.FAILED;
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("❌ Translation job {} failed for language: {}", job.id, job.targetLanguage, cause);
+        }
+        job.completedAt = clock.instant();
+        finished.add(job);
+        // Published last, so a reader that sees a final status also sees the result
+        job.status = outcome;
+        evictExpired();
+    }
+
+    private void evictExpired() {
+        Instant cutoff = clock.instant().minus(settings.getRetention());
+        int maxRetained = Math.max(0, settings.getMaxRetained());
+        Job oldest;
+        while ((oldest = finished.peek()) != null
+                && (finished.size() > maxRetained || oldest.completedAt.isBefore(cutoff))) {
+            if (finished.remove(oldest)) {
+                jobs.remove(oldest.id);
+            }
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String targetLanguage;
+        private final Instant createdAt;
+        private volatile TranslationJobDto.Status status = TranslationJobDto.Status.QUEUED;
+        private volatile ResumeDto result;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private Job(String id, String targetLanguage, Instant createdAt) {
+            this.id = id;
+            this.targetLanguage = targetLanguage;
+            this.createdAt = createdAt;
+        }
+
+        private TranslationJobDto toDto() {
+            TranslationJobDto.Status current = status;
+            boolean done = current == TranslationJobDto.Status.SUCCEEDED || current == TranslationJobDto.Status.FAILED;
+            return TranslationJobDto.builder()
+                    .id(id)
+                    .status(current)
+                    .targetLanguage(targetLanguage)
+                    .createdAt(createdAt)
+                    .completedAt(done ? completedAt : null)
+                    .result(done ? result : null)
+                    .error(done ? error : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package salt.backend.services;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs translations off the request thread and caps how many are in flight at once.
+ * Translations beyond {@code maxInFlight} wait for a slot on their own virtual thread, and only
+ * those count as queued; once {@code maxQueued} are already waiting, or a slot does not free up
+ * within {@code queueTimeout}, the returned future fails with a {@link RejectedExecutionException}.
+ */
+public class TranslationLimiter {
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public TranslationLimiter(ExecutorService executor, int maxInFlight, int maxQueued, Duration queueTimeout) {
+        this.executor = executor;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight, true);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeout = queueTimeout;
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> translation) {
+        if (tryAcquireNow()) {
+            // A free slot: the translation does not queue, so max-queued does not apply
+            return start(() -> runHoldingSlot(translation), true);
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return CompletableFuture.failedFuture(
+                new RejectedExecutionException("Too many translations waiting (limit " + maxQueued + ")"));
+        }
+        return start(() -> runWithSlot(translation), false);
+    }
+
+    // The timed form honours fairness, so a newcomer never overtakes translations already waiting
+    private boolean tryAcquireNow() {
+        try {
+            return inFlight.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> start(Supplier<T> task, boolean holdsSlot) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            // Executor is shutting down
+            if (holdsSlot) {
+                inFlight.release();
+            } else {
+                queued.decrementAndGet();
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T runWithSlot(Callable<T> translation) {
+        boolean acquired;
+        try {
+            acquired = inFlight.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } finally {
+            queued.decrementAndGet();
+        }
+        if (!acquired) {
+            throw new RejectedExecutionException("No translation slot freed up within " + queueTimeout);
+        }
+        return runHoldingSlot(translation);
+    }
+
+    private <T> T runHoldingSlot(Callable<T> translation) {
+        try {
+            return translation.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+}
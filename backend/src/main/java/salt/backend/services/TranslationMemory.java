@@ -0,0 +1,100 @@
+package salt.backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Translation memory of individual text segments, shared across resumes and edits.
+ * Keyed by the whitespace-normalized source segment and target language; bounded as an LRU.
+ * With a {@link DiskTranslationStore} segments are also written to disk and looked up there on a
+ * miss; on disk they are additionally keyed by model, since they outlive a model change.
+ */
+public class TranslationMemory {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, String> entries;
+    private final DiskTranslationStore disk;
+    private final String diskPrefix;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+
+    public TranslationMemory(int maxEntries) {
+        this(maxEntries, null, null);
+    }
+
+    public TranslationMemory(int maxEntries, DiskTranslationStore disk, String model) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.disk = disk;
+        this.diskPrefix = "segment|" + model + "|";
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > TranslationMemory.this.maxEntries;
+            }
+        };
+    }
+
+    public Optional<String> get(String segment, String targetLanguage) {
+        String key = key(segment, targetLanguage);
+        String translation;
+        synchronized (entries) {
+            translation = entries.get(key);
+        }
+        if (translation == null && disk != null) {
+            translation = disk.get(diskKey(key), null)
+                    .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                    .orElse(null);
+            if (translation != null) {
+                diskHits.incrementAndGet();
+                synchronized (entries) {
+                    entries.put(key, translation);
+                }
+            }
+        }
+        (translation != null ? hits : misses).incrementAndGet();
+        return Optional.ofNullable(translation);
+    }
+
+    public void put(String segment, String targetLanguage, String translation) {
+        if (translation == null || translation.isBlank()) {
+            return;
+        }
+        String key = key(segment, targetLanguage);
+        String previous;
+        synchronized (entries) {
+            previous = entries.put(key, translation);
+        }
+        if (disk != null && !translation.equals(previous)) {
+            disk.put(diskKey(key), translation.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.get(), misses.get(), entries.size(), diskHits.get());
+        }
+    }
+
+    static String normalize(String segment) {
+        return WHITESPACE.matcher(segment.strip()).replaceAll(" ");
+    }
+
+    private static String key(String segment, String targetLanguage) {
+        return ResumeFingerprint.normalizeLanguage(targetLanguage) + "\u0000" + normalize(segment);
+    }
+
+    private String diskKey(String key) {
+        return diskPrefix + key;
+    }
+
+    public record Stats(long hits, long misses, int size, long diskHits) {
+    }
+}
@@ -0,0 +1,241 @@
+package salt.backend.services;
+
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import salt.backend.config.TranslationProperties;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer meters of the translation pipeline. Everything is published under {@code translation.*}
+ * and scraped from {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code translation.stage} - time per pipeline stage, tagged {@code stage}</li>
+ *   <li>{@code translation.requests} - end-to-end latency per target language and outcome; languages
+ *       outside {@code translation.metrics.languages} are tagged {@code other}</li>
+ *   <li>{@code translation.requests.abandoned} - failed translations whose client stopped waiting
+ *       ({@code cancelled}) or whose deadline ran out ({@code deadline_exceeded}), tagged {@code reason}</li>
+ *   <li>{@code translation.provider.calls} - provider calls per API key index and outcome
+ *       ({@code success}, {@code rate_limited}, {@code error})</li>
+ *   <li>{@code translation.provider.chain.calls} - calls per provider of the failover chain and outcome</li>
+ *   <li>{@code translation.provider.hedges} - hedged attempts ({@code won}, {@code lost}) and hedges
+ *       skipped because the budget was spent ({@code budget_exhausted})</li>
+ *   <li>{@code translation.provider.replies.malformed} - replies that failed to parse, by how they were
+ *       recovered ({@code repaired}, {@code retried}, {@code incomplete}, {@code failed})</li>
+ *   <li>{@code translation.prompt.payload.size} / {@code translation.prompt.payload.tokens} - bytes and
+ *       estimated tokens of the resume text per prompt, before compaction ({@code raw}) and as sent
+ *       ({@code compact}), tagged {@code form}</li>
+ *   <li>{@code translation.prompt.blobs.saved} - bytes of data URLs and other blobs kept out of the prompt,
+ *       as whole values ({@code value}) or replaced by placeholders inside text ({@code inline}), tagged
+ *       {@code kind}</li>
+ *   <li>{@code translation.provider.prompt.size} / {@code translation.provider.response.size} - characters
+ *       sent to and received from the provider</li>
+ *   <li>{@code translation.provider.tokens} - token usage reported by the provider, tagged {@code type}</li>
+ * </ul>
+ */
+public class TranslationMetrics {
+
+    // Rough size of an input token, for payload token estimates
+    private static final int BYTES_PER_TOKEN = 4;
+
+    private final MeterRegistry registry;
+    private final String model;
+    // Target languages come from the client; only these get a tag of their own
+    private final Set<String> languages;
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+    private final DistributionSummary promptSize;
+    private final DistributionSummary responseSize;
+
+    public enum Stage {
+        // Resume to JSON tree and segment extraction
+        SERIALIZE,
+        PROMPT_BUILD,
+        PROVIDER_CALL,
+        // Streaming the raw reply, markdown fences included, into segments or a ResumeDto
+        PARSE,
+        // Splicing translations into the tree and binding it back to a ResumeDto
+        ASSEMBLE,
+        PRESERVE_IMMUTABLE;
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public TranslationMetrics(MeterRegistry registry, String model) {
+        this(registry, model, new TranslationProperties.Metrics().getLanguages());
+    }
+
+    public TranslationMetrics(MeterRegistry registry, String model, Collection<String> languages) {
+        this.registry = registry;
+        this.model = model;
+        this.languages = languages.stream()
+                .map(ResumeFingerprint::normalizeLanguage)
+                .collect(Collectors.toUnmodifiableSet());
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, Timer.builder("translation.stage")
+                    .description("Time spent in each stage of the translation pipeline")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.promptSize = DistributionSummary.builder("translation.provider.prompt.size")
+                .description("Characters sent to the provider per call")
+                .baseUnit("chars")
+                .tag("model", model)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.responseSize = DistributionSummary.builder("translation.provider.response.size")
+                .description("Characters received from the provider per call")
+                .baseUnit("chars")
+                .tag("model", model)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public Timer stage(Stage stage) {
+        return stages.get(stage);
+    }
+
+    public void recordRequest(String targetLanguage, long durationNanos, boolean success) {
+        Timer.builder("translation.requests")
+                .description("End-to-end translation latency per target language")
+                .tag("language", languageTag(targetLanguage))
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAbandoned(String reason) {
+        Counter.builder("translation.requests.abandoned")
+                .description("Translations stopped because the client went away or the deadline ran out")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordProviderSuccess(int keyIndex) {
+        providerCalls(keyIndex, "success").increment();
+    }
+
+    public void recordProviderFailure(int keyIndex, Throwable error) {
+        providerCalls(keyIndex, KeyScheduler.isRateLimit(error) ? "rate_limited" : "error").increment();
+    }
+
+    public void recordProviderOutcome(String provider, boolean success) {
+        Counter.builder("translation.provider.chain.calls")
+                .description("Calls per provider of the failover chain and outcome")
+                .tag("provider", provider)
+                .tag("outcome", success ? "success" : "error")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordHedge(String outcome) {
+        Counter.builder("translation.provider.hedges")
+                .description("Hedged provider attempts per outcome")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordMalformedReply(String outcome) {
+        Counter.builder("translation.provider.replies.malformed")
+                .description("Provider replies that failed to parse, by how they were recovered")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordPayload(long rawBytes, long compactBytes) {
+        payloadSize("raw").record(rawBytes);
+        payloadSize("compact").record(compactBytes);
+        payloadTokens("raw").record(rawBytes / BYTES_PER_TOKEN);
+        payloadTokens("compact").record(compactBytes / BYTES_PER_TOKEN);
+    }
+
+    public void recordBlobsSaved(String kind, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        Counter.builder("translation.prompt.blobs.saved")
+                .description("Bytes of blobs kept out of the prompt")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .register(registry)
+                .increment(bytes);
+    }
+
+    public void recordExchange(int promptChars, int responseChars) {
+        promptSize.record(promptChars);
+        responseSize.record(responseChars);
+    }
+
+    /**
+     * Adds the token counts of the provider's usage metadata, when it reports any.
+     */
+    public void recordUsage(GenerateContentResponse response) {
+        Optional<GenerateContentResponseUsageMetadata> usage = response.usageMetadata();
+        if (usage == null || usage.isEmpty()) {
+            return;
+        }
+        usage.get().promptTokenCount().ifPresent(count -> tokens("prompt").increment(count));
+        usage.get().candidatesTokenCount().ifPresent(count -> tokens("response").increment(count));
+        usage.get().thoughtsTokenCount().ifPresent(count -> tokens("thoughts").increment(count));
+    }
+
+    private Counter providerCalls(int keyIndex, String outcome) {
+        return Counter.builder("translation.provider.calls")
+                .description("Provider calls per API key and outcome")
+                .tag("key", String.valueOf(keyIndex))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private DistributionSummary payloadSize(String form) {
+        return DistributionSummary.builder("translation.prompt.payload.size")
+                .description("Resume payload per prompt, before compaction and as sent")
+                .baseUnit("bytes")
+                .tag("form", form)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary payloadTokens(String form) {
+        return DistributionSummary.builder("translation.prompt.payload.tokens")
+                .description("Estimated tokens of the resume payload per prompt, before compaction and as sent")
+                .baseUnit("tokens")
+                .tag("form", form)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter tokens(String type) {
+        return Counter.builder("translation.provider.tokens")
+                .description("Tokens reported by the provider")
+                .tag("type", type)
+                .tag("model", model)
+                .register(registry);
+    }
+
+    String languageTag(String targetLanguage) {
+        String language = ResumeFingerprint.normalizeLanguage(targetLanguage);
+        return languages.contains(language) ? language : "other";
+    }
+}
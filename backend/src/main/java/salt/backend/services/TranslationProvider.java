@@ -0,0 +1,64 @@
+package salt.backend.services;
+
+/**
+ * A backend that turns a translation prompt into the model's reply text. Implementations are tried
+ * in order by {@link ProviderChain}; the reply is cleaned and parsed by {@link TranslationService},
+ * so every provider must answer in the format the prompt asks for.
+ */
+public interface TranslationProvider {
+
+    /**
+     * Short identifier used in configuration, logs and metrics, e.g. {@code gemini}.
+     */
+    String name();
+
+    /**
+     * Model the translations come from; part of every cache and translation memory key.
+     */
+    String model();
+
+    /**
+     * Whether replies may be kept in the translation cache and memory. Degraded providers whose
+     * output is not a real translation return false.
+     */
+    default boolean cacheable() {
+        return true;
+    }
+
+    String translate(Request request) throws Exception;
+
+    /**
+     * Delivers the reply in chunks as it is produced. Providers without native streaming send the
+     * whole reply as one chunk.
+     */
+    default void translateStream(Request request, StreamSink sink) throws Exception {
+        sink.begin();
+        sink.accept(translate(request));
+    }
+
+    /**
+     * One provider call.
+     *
+     * @param prompt         full prompt text for a language model
+     * @param payload        the JSON embedded in the prompt: a numbered segment object or the resume
+     * @param targetLanguage language the payload is translated into
+     */
+    record Request(String prompt, String payload, String targetLanguage) {
+    }
+
+    /**
+     * Receives a streamed reply. {@link #begin()} starts every attempt, so a retry on another key
+     * or provider parses from a clean state.
+     */
+    interface StreamSink {
+
+        void begin() throws Exception;
+
+        void accept(String chunk) throws Exception;
+
+        /**
+         * True once part of the reply has reached the client; the call can then no longer be retried elsewhere.
+         */
+        boolean committed();
+    }
+}
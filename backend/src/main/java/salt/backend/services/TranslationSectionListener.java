@@ -0,0 +1,12 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Receives top-level resume sections ({@code basics}, {@code work}, ...) as soon as they are fully translated.
+ */
+@FunctionalInterface
+public interface TranslationSectionListener {
+
+    void onSection(String section, JsonNode value) throws Exception;
+}
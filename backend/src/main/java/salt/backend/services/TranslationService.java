@@ -1,43 +1,204 @@
 package salt.backend.services;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.google.genai.Client;
-import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.HttpOptions;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.BatchTranslationRequestDto;
+import salt.backend.dto.BatchTranslationResponseDto;
+import salt.backend.dto.DeltaTranslationRequestDto;
 import salt.backend.dto.TranslationRequestDto;
 import salt.backend.dto.ResumeDto;
+import salt.backend.services.TranslationMetrics.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 public class TranslationService {
-    private final List<String> apiKeys;
-    private final AtomicInteger keyIndex;
+    private final TranslationProperties properties;
     private final ObjectMapper objectMapper;
+    private final GeminiTranslationProvider gemini;
+    private final ProviderChain providerChain;
+    // Model of the primary provider; part of every cache and translation memory key
+    private final String model;
+    private final TranslationCache translationCache;
+    private final TranslationMemory translationMemory;
+    private final DiskTranslationStore diskStore;
+    private final SingleFlight<String, ResumeDto> singleFlight;
+    private final BlobExternalizer blobs;
+    private final TranslationMetrics metrics;
 
     public TranslationService() {
-        // Load all API keys from environment variables
-        this.apiKeys = loadApiKeys();
-        
+        this(new TranslationProperties());
+    }
+
+    public TranslationService(TranslationProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public TranslationService(TranslationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = new ObjectMapper();
+        this.metrics = new TranslationMetrics(meterRegistry, properties.getGemini().getModel(),
+            properties.getMetrics().getLanguages());
+        this.gemini = properties.getProviders().getChain().contains(TranslationProperties.ProviderType.GEMINI)
+                ? createGeminiProvider()
+                : null;
+        this.providerChain = new ProviderChain(createProviders(), properties.getProviders(), metrics);
+        this.model = providerChain.primary().model();
+        this.diskStore = openDiskStore(properties.getDisk());
+        this.translationCache = properties.getCache().isEnabled()
+                ? new TranslationCache(properties.getCache().getMaxEntries(), properties.getCache().getMaxSize().toBytes(),
+                    properties.getCache().getTtl(), objectMapper, diskStore)
+                : null;
+        this.translationMemory = properties.getMemory().isEnabled()
+                ? new TranslationMemory(properties.getMemory().getMaxEntries(), diskStore, model)
+                : null;
+        this.singleFlight = properties.getCoalescing().isEnabled()
+                ? new SingleFlight<>(this::copyOf)
+                : null;
+        this.blobs = new BlobExternalizer(properties.getBlobs());
+        registerCacheMeters(meterRegistry);
+        log.info("🔗 Translation provider chain: {}", properties.getProviders().getChain());
+    }
+
+    private GeminiTranslationProvider createGeminiProvider() {
+        // Load the API keys from translation.gemini.api-keys or the environment
+        List<String> apiKeys = loadApiKeys();
+
         if (apiKeys.isEmpty()) {
             throw new IllegalStateException(
                 "At least one Google API key is required. Please set at least one of: " +
                 "GOOGLE_API_KEY, GOOGLE_API_KEY_TWO, GOOGLE_API_KEY_THREE, GOOGLE_API_KEY_FOUR"
             );
         }
-        
-        this.keyIndex = new AtomicInteger(0);
-        this.objectMapper = new ObjectMapper();
+
+        // Clients are built through createClient so tests and benchmarks can substitute them
+        GeminiTranslationProvider provider = new GeminiTranslationProvider(apiKeys, this::createClient, properties, metrics);
         log.info("🔑 Google Gemini client initialized with {} API key(s)", apiKeys.size());
+        return provider;
+    }
+
+    private List<TranslationProvider> createProviders() {
+        List<TranslationProvider> providers = new ArrayList<>();
+        for (TranslationProperties.ProviderType type : properties.getProviders().getChain()) {
+            providers.add(switch (type) {
+                case GEMINI -> gemini;
+                case LOCAL -> new LocalTranslationProvider(properties.getProviders().getLocal(), objectMapper);
+            });
+        }
+        return providers;
+    }
+
+    private void registerCacheMeters(MeterRegistry registry) {
+        if (translationCache != null) {
+            FunctionCounter.builder("translation.cache.requests", translationCache, cache -> cache.stats().hits())
+                .description("Whole-resume cache lookups").tag("result", "hit").register(registry);
+            FunctionCounter.builder("translation.cache.requests", translationCache, cache -> cache.stats().misses())
+                .description("Whole-resume cache lookups").tag("result", "miss").register(registry);
+        }
+        if (translationMemory != null) {
+            FunctionCounter.builder("translation.memory.requests", translationMemory, memory -> memory.stats().hits())
+                .description("Segment translation memory lookups").tag("result", "hit").register(registry);
+            FunctionCounter.builder("translation.memory.requests", translationMemory, memory -> memory.stats().misses())
+                .description("Segment translation memory lookups").tag("result", "miss").register(registry);
+        }
+    }
+
+    @PostConstruct
+    void warmUpClients() {
+        if (gemini != null) {
+            gemini.warmUp();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (gemini != null) {
+            gemini.close();
+        }
+        if (diskStore != null) {
+            try {
+                diskStore.close();
+            } catch (IOException e) {
+                log.warn("Disk translation cache was not closed cleanly", e);
+            }
+        }
+    }
+
+    /**
+     * Opens the disk tier shared by the translation cache and memory. A cache directory that cannot
+     * be used is logged and the service runs with the in-memory tiers only.
+     */
+    private static DiskTranslationStore openDiskStore(TranslationProperties.Disk disk) {
+        if (!disk.isEnabled()) {
+            return null;
+        }
+        try {
+            return new DiskTranslationStore(Path.of(disk.getDirectory()), disk.getMaxSize().toBytes());
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Disk translation cache at {} is unavailable, continuing without it", disk.getDirectory(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the client for a single API key. Called once per key by the client pool.
+     */
+    protected Client createClient(String apiKey) {
+        Client.Builder builder = Client.builder().apiKey(apiKey);
+        TranslationProperties.Gemini gemini = properties.getGemini();
+        boolean hasBaseUrl = gemini.getBaseUrl() != null && !gemini.getBaseUrl().isBlank();
+        if (hasBaseUrl || gemini.getTimeoutMs() > 0) {
+            HttpOptions.Builder httpOptions = HttpOptions.builder();
+            if (hasBaseUrl) {
+                httpOptions.baseUrl(gemini.getBaseUrl());
+            }
+            if (gemini.getTimeoutMs() > 0) {
+                httpOptions.timeout(gemini.getTimeoutMs());
+            }
+            builder.httpOptions(httpOptions.build());
+        }
+        return builder.build();
     }
     
     private List<String> loadApiKeys() {
         List<String> keys = new ArrayList<>();
+        for (String apiKey : properties.getGemini().getApiKeys()) {
+            if (apiKey != null && !apiKey.isBlank()) {
+                keys.add(apiKey.trim());
+            }
+        }
+        if (!keys.isEmpty()) {
+            return keys;
+        }
         String[] envVarNames = {
             "GOOGLE_API_KEY",
             "GOOGLE_API_KEY_TWO",
@@ -57,88 +218,518 @@ public class TranslationService {
     }
 
     public ResumeDto translateResume(TranslationRequestDto request) throws Exception {
-        // Convert the resume to JSON string
-        String resumeJson = objectMapper.writeValueAsString(request.getResumeData());
-        
-        // Create the prompt for Gemini AI
-        String prompt = buildTranslationPrompt(resumeJson, request.getTargetLanguage());
-        
-        log.info("📤 Sending translation request to Gemini AI for language: {}", request.getTargetLanguage());
-        
-        // Get the starting key index for this request (round-robin)
-        int startIndex = keyIndex.getAndIncrement() % apiKeys.size();
-        
-        // Try all API keys starting from the round-robin index, wrapping around if needed
-        Exception lastException = null;
-        int attempts = 0;
-        
-        for (int i = 0; i < apiKeys.size(); i++) {
-            // Calculate the actual index to use (wrapping around)
-            int currentIndex = (startIndex + i) % apiKeys.size();
-            String apiKey = apiKeys.get(currentIndex);
-            
+        return recordRequest(request.getTargetLanguage(),
+            () -> translate(request.getResumeData(), request.getTargetLanguage(), null, null));
+    }
+
+    /**
+     * Retranslates only what changed since the previous translation. Segments whose source text is
+     * unchanged keep the translation from {@code previousTranslation}; the rest goes to the provider.
+     */
+    public ResumeDto translateDelta(DeltaTranslationRequestDto request) throws Exception {
+        return recordRequest(request.getTargetLanguage(), () -> translate(request.getResumeData(),
+            request.getTargetLanguage(), request.getPreviousResumeData(), request.getPreviousTranslation()));
+    }
+
+    /**
+     * Streams the translation section by section. Sections that need nothing from the provider are
+     * emitted immediately; the rest follow as soon as all their segments have arrived in the
+     * provider's streamed reply. Always uses the numbered segment protocol.
+     *
+     * @return the complete translated resume, once every section has been emitted
+     */
+    public ResumeDto translateResumeStream(TranslationRequestDto request, TranslationSectionListener listener) throws Exception {
+        return recordRequest(request.getTargetLanguage(), () -> streamTranslation(request, listener));
+    }
+
+    private ResumeDto streamTranslation(TranslationRequestDto request, TranslationSectionListener listener) throws Exception {
+        ResumeDto source = request.getResumeData();
+        String targetLanguage = request.getTargetLanguage();
+        String cacheKey = null;
+        if (translationCache != null) {
+            cacheKey = ResumeFingerprint.translationKey(source, targetLanguage, model);
+            Optional<ResumeDto> cached = translationCache.get(cacheKey);
+            if (cached.isPresent()) {
+                log.info("⚡ Streaming cached translation for language: {}", targetLanguage);
+                JsonNode cachedTree = objectMapper.valueToTree(cached.get());
+                new SectionStreamAssembler(cachedTree, Map.of(), List.of(),
+                    BlobExternalizer.Externalized.unchanged(List.of()), objectMapper, listener).emitReadySections();
+                return cached.get();
+            }
+        }
+
+        JsonNode sourceTree = toTree(source);
+        BlobExternalizer.Externalized extracted = extractSegments(sourceTree);
+        List<ResumeSegments.Segment> segments = extracted.segments();
+        Map<String, String> remembered = recallSegments(segments, targetLanguage);
+        List<ResumeSegments.Segment> pending = segments.stream()
+            .filter(segment -> !remembered.containsKey(segment.path()))
+            .toList();
+
+        SectionStreamAssembler assembler =
+            new SectionStreamAssembler(sourceTree, remembered, pending, extracted, objectMapper, listener);
+        assembler.emitReadySections();
+        boolean cacheable = true;
+        if (!pending.isEmpty()) {
+            long promptStart = System.nanoTime();
+            String payload = SegmentProtocol.encode(pending, objectMapper);
+            String prompt = buildSegmentPrompt(payload, targetLanguage);
+            metrics.stage(Stage.PROMPT_BUILD).record(System.nanoTime() - promptStart, TimeUnit.NANOSECONDS);
+            recordPayload(SegmentProtocol.uncompactedSize(pending, objectMapper), payload);
+            TranslationProvider provider = providerChain.translateStream(
+                new TranslationProvider.Request(prompt, payload, targetLanguage), new TranslationProvider.StreamSink() {
+                    private StreamingSegmentParser parser;
+
+                    @Override
+                    public void begin() throws Exception {
+                        parser = new StreamingSegmentParser(assembler::accept);
+                    }
+
+                    @Override
+                    public void accept(String chunk) throws Exception {
+                        parser.feed(chunk);
+                    }
+
+                    @Override
+                    public boolean committed() {
+                        return assembler.hasStreamedProviderSection();
+                    }
+                });
+            cacheable = provider.cacheable();
+        }
+        // Like a salvaged reply, a stream that broke off early leaves source text behind and is not kept
+        cacheable &= assembler.finish();
+        if (cacheable && !pending.isEmpty()) {
+            rememberSegments(pending, assembler.provided(), targetLanguage);
+        }
+
+        ResumeDto assembled = metrics.stage(Stage.ASSEMBLE).recordCallable(() ->
+            objectMapper.treeToValue(assembler.result(), ResumeDto.class));
+        ResumeDto translated = preserveImmutable(source, assembled);
+        if (cacheKey != null && cacheable) {
+            translationCache.put(cacheKey, translated);
+        }
+        return translated;
+    }
+
+    /**
+     * Translates one resume into several languages. Serialization, fingerprinting and segment extraction
+     * happen once; the per-language translations then run concurrently on virtual threads, at most
+     * {@code translation.batch.max-parallelism} at a time. A language that fails is reported in
+     * {@code errors} without affecting the others.
+     */
+    public BatchTranslationResponseDto translateBatch(BatchTranslationRequestDto request) throws Exception {
+        ResumeDto source = request.getResumeData();
+        List<String> languages = request.getTargetLanguages().stream()
+            .map(String::trim)
+            .distinct()
+            .toList();
+
+        // Shared by every language of the batch
+        String fingerprint = fingerprintIfNeeded(source);
+        JsonNode sourceTree = toTree(source);
+        BlobExternalizer.Externalized extracted = extractSegments(sourceTree);
+        log.info("🌍 Batch translating {} segment(s) into {} language(s)", extracted.segments().size(), languages.size());
+
+        Semaphore permits = new Semaphore(Math.max(1, properties.getBatch().getMaxParallelism()));
+        Map<String, Future<ResumeDto>> futures = new LinkedHashMap<>();
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String language : languages) {
+                futures.put(language, scope.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return recordRequest(language, () -> {
+                            Optional<ResumeDto> cached = cachedTranslation(fingerprint, language);
+                            return cached.isPresent()
+                                ? cached.get()
+                                : translateCached(source, fingerprint, sourceTree, extracted, Map.of(), language);
+                        });
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        BatchTranslationResponseDto response = BatchTranslationResponseDto.builder()
+            .translations(new LinkedHashMap<>())
+            .errors(new LinkedHashMap<>())
+            .build();
+        for (Map.Entry<String, Future<ResumeDto>> entry : futures.entrySet()) {
+            Future<ResumeDto> future = entry.getValue();
+            if (future.state() == Future.State.SUCCESS) {
+                response.getTranslations().put(entry.getKey(), future.resultNow());
+            } else {
+                Throwable failure = future.state() == Future.State.FAILED ? future.exceptionNow() : null;
+                log.error("❌ Batch translation failed for language: {}", entry.getKey(), failure);
+                response.getErrors().put(entry.getKey(), "Translation failed");
+            }
+        }
+        return response;
+    }
+
+    private ResumeDto translate(ResumeDto source, String targetLanguage,
+                                ResumeDto previousSource, ResumeDto previousTranslation) throws Exception {
+        String fingerprint = fingerprintIfNeeded(source);
+        Optional<ResumeDto> cached = cachedTranslation(fingerprint, targetLanguage);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        JsonNode sourceTree = toTree(source);
+        BlobExternalizer.Externalized extracted = extractSegments(sourceTree);
+        Map<String, String> carried = Map.of();
+        if (previousSource != null && previousTranslation != null) {
+            carried = ResumeDelta.carryOver(objectMapper.valueToTree(previousSource),
+                objectMapper.valueToTree(previousTranslation), extracted.segments(), blobs);
+            log.info("✂️ Delta translation: {}/{} segment(s) unchanged since previous translation",
+                carried.size(), extracted.segments().size());
+        }
+        return translateCached(source, fingerprint, sourceTree, extracted, carried, targetLanguage);
+    }
+
+    /**
+     * Translates after a cache miss and caches the result unless it is a delta. Identical concurrent requests (same
+     * fingerprint, language and model, no delta) share one provider call; if that call is abandoned
+     * by the request that started it, a request that still has time runs it again. {@code fingerprint}
+     * is null when neither caching nor coalescing is enabled.
+     */
+    private ResumeDto translateCached(ResumeDto source, String fingerprint, JsonNode sourceTree,
+                                      BlobExternalizer.Externalized extracted, Map<String, String> carried,
+                                      String targetLanguage) throws Exception {
+        if (fingerprint == null) {
+            return translateWithProvider(source, sourceTree, extracted, carried, targetLanguage).resume();
+        }
+        String key = ResumeFingerprint.translationKey(fingerprint, targetLanguage, model);
+        Callable<ResumeDto> translation = () -> {
+            Translation translated;
             try {
-                log.debug("Attempting translation with API key index: {} (attempt {}/{})", 
-                    currentIndex, i + 1, apiKeys.size());
-                
-                // Create a new client with the current API key
-                Client client = Client.builder()
-                    .apiKey(apiKey)
-                    .build();
-                
-                // Send request to Gemini AI
-                GenerateContentResponse response = client.models.generateContent(
-                    "gemini-2.5-flash",
-                    prompt,
-                    null
-                );
-                
-                String translatedJson = response.text();
-                log.info("📥 Received response from Gemini AI (using key index: {})", currentIndex);
-                
-                // Clean up the response (remove potential markdown formatting)
-                translatedJson = cleanJsonResponse(translatedJson);
-                
-                // Parse the translated JSON back to ResumeDto
-                ResumeDto translatedResume = objectMapper.readValue(translatedJson, ResumeDto.class);
-                
-                // Enforce immutability of specific fields
-                translatedResume = preserveImmutableFields(request.getResumeData(), translatedResume);
-                
-                log.info("✅ Successfully translated resume to {} (using key index: {})", 
-                    request.getTargetLanguage(), currentIndex);
-                return translatedResume;
-                
-            } catch (JsonProcessingException e) {
-                // JSON processing errors are not related to API key, don't retry
-                log.error("❌ JSON processing error during translation", e);
-                throw new Exception("Failed to process JSON during translation: " + e.getMessage(), e);
+                translated = translateWithProvider(source, sourceTree, extracted, carried, targetLanguage);
             } catch (Exception e) {
-                attempts++;
-                lastException = e;
-                log.warn("❌ Translation attempt {} failed with API key index {}: {}", 
-                    attempts, currentIndex, e.getMessage());
-                
-                // If this was the last key, break and throw error
-                if (i == apiKeys.size() - 1) {
-                    break;
-                }
-                
-                // Otherwise, try next key
-                log.info("🔄 Retrying with next API key...");
+                // Lets requests sharing this call tell an abandoned call from a failed one
+                throw RequestDeadline.current().explain(e);
+            }
+            // A delta result also depends on the previous translation, so it is neither cached nor shared
+            if (translationCache != null && translated.cacheable() && carried.isEmpty()) {
+                translationCache.put(key, translated.resume());
             }
+            return translated.resume();
+        };
+        if (singleFlight == null || !carried.isEmpty()) {
+            return translation.call();
         }
-        
-        // All keys failed
-        log.error("❌ All {} API key(s) exhausted. Translation failed.", apiKeys.size());
-        throw new Exception(
-            "Translation service error: All API keys failed after " + attempts + " attempt(s). " +
-            "Last error: " + (lastException != null ? lastException.getMessage() : "Unknown error"),
-            lastException
-        );
+        try {
+            return singleFlight.execute(key, translation);
+        } catch (CancellationException | TimeoutException e) {
+            if (RequestDeadline.current().isDone()) {
+                throw e;
+            }
+            // The call this request joined was abandoned by its own client; this one still has time
+            log.info("🔁 Shared translation was abandoned by another request, translating again");
+            return singleFlight.execute(key, translation);
+        }
+    }
+
+    private String fingerprintIfNeeded(ResumeDto source) {
+        return translationCache != null || singleFlight != null ? ResumeFingerprint.of(source) : null;
+    }
+
+    private Optional<ResumeDto> cachedTranslation(String fingerprint, String targetLanguage) {
+        if (translationCache == null || fingerprint == null) {
+            return Optional.empty();
+        }
+        Optional<ResumeDto> cached = translationCache.get(
+            ResumeFingerprint.translationKey(fingerprint, targetLanguage, model));
+        if (cached.isPresent()) {
+            log.info("⚡ Serving cached translation for language: {}", targetLanguage);
+        }
+        return cached;
+    }
+
+    /**
+     * Hit/miss/eviction counters of the whole-resume cache, or null when caching is disabled.
+     */
+    public TranslationCache.Stats cacheStats() {
+        return translationCache != null ? translationCache.stats() : null;
+    }
+
+    /**
+     * Size and compaction counters of the disk cache tier, or null when it is disabled.
+     */
+    public DiskTranslationStore.Stats diskStats() {
+        return diskStore != null ? diskStore.stats() : null;
+    }
+
+    /**
+     * Scheduling state of every API key: healthy, cooling down or circuit-open, and its latency EWMA.
+     * Empty when Gemini is not part of the provider chain.
+     */
+    public List<KeyScheduler.KeyStatus> keyStatus() {
+        return gemini != null ? gemini.keyStatus() : List.of();
+    }
+
+    /**
+     * Queue depth, in-flight calls and wait times of every key's rate limiter, or null when it is disabled.
+     */
+    public List<KeyRateLimiter.KeyStats> rateLimitStats() {
+        return gemini != null ? gemini.rateLimitStats() : null;
+    }
+
+    /**
+     * Latency, error rate and demotion state of every provider in the failover chain.
+     */
+    public List<ProviderChain.ProviderStatus> providerStatus() {
+        return providerChain.status();
+    }
+
+    /**
+     * How many provider translations ran and how many identical requests joined one in flight,
+     * or null when coalescing is disabled.
+     */
+    public SingleFlight.Stats coalescingStats() {
+        return singleFlight != null ? singleFlight.stats() : null;
+    }
+
+    /**
+     * Hit/miss counters of the segment translation memory, or null when it is disabled.
+     */
+    public TranslationMemory.Stats memoryStats() {
+        return translationMemory != null ? translationMemory.stats() : null;
+    }
+
+    /**
+     * Translates the resume segment by segment: segments carried over from a previous translation
+     * or found in the translation memory are spliced in directly, and only the rest is sent to the
+     * provider chain. The result is always built on a copy of the source tree, so fields that are never
+     * translated keep their original values.
+     */
+    private Translation translateWithProvider(ResumeDto source, JsonNode sourceTree, BlobExternalizer.Externalized extracted,
+                                              Map<String, String> carried, String targetLanguage) throws Exception {
+        List<ResumeSegments.Segment> segments = extracted.segments();
+        Map<String, String> remembered = recallSegments(segments, targetLanguage);
+        remembered.putAll(carried);
+
+        Map<String, String> translations = new HashMap<>(remembered);
+        boolean cacheable = true;
+        if (remembered.size() < segments.size()) {
+            List<ResumeSegments.Segment> pending = segments.stream()
+                .filter(segment -> !remembered.containsKey(segment.path()))
+                .toList();
+            Provided provided;
+            if (properties.getPromptFormat() == TranslationProperties.PromptFormat.JSON) {
+                provided = translateAsJson(sourceTree, pending, targetLanguage);
+            } else if (properties.getFanOut().isEnabled() && pending.size() >= properties.getFanOut().getMinSegments()) {
+                provided = translateInParallel(pending, targetLanguage);
+            } else {
+                provided = translateAsSegments(pending, targetLanguage);
+            }
+            // Degraded replies (e.g. the local fallback) are returned but never remembered or cached
+            cacheable = provided.cacheable();
+            if (cacheable) {
+                rememberSegments(pending, provided.translations(), targetLanguage);
+            }
+            translations.putAll(provided.translations());
+        } else {
+            log.info("🧠 All {} segment(s) served from translation memory for language: {}",
+                segments.size(), targetLanguage);
+        }
+
+        ResumeDto assembled = metrics.stage(Stage.ASSEMBLE).recordCallable(() -> {
+            JsonNode result = sourceTree.deepCopy();
+            translations.forEach((path, translation) ->
+                ResumeSegments.set(result, path, extracted.reattach(path, translation)));
+            return objectMapper.treeToValue(result, ResumeDto.class);
+        });
+
+        // Enforce immutability of specific fields
+        return new Translation(preserveImmutable(source, assembled), cacheable);
+    }
+
+    /**
+     * Sends only the pending segments as a numbered list and maps the numbered reply back to paths.
+     */
+    private Provided translateAsSegments(List<ResumeSegments.Segment> pending,
+                                         String targetLanguage) throws Exception {
+        return translateAsSegments(pending, targetLanguage, true);
+    }
+
+    /**
+     * @param retryMissing whether segments lost from a malformed reply are requested again
+     */
+    private Provided translateAsSegments(List<ResumeSegments.Segment> pending, String targetLanguage,
+                                         boolean retryMissing) throws Exception {
+        long promptStart = System.nanoTime();
+        String payload = SegmentProtocol.encode(pending, objectMapper);
+        String prompt = buildSegmentPrompt(payload, targetLanguage);
+        metrics.stage(Stage.PROMPT_BUILD).record(System.nanoTime() - promptStart, TimeUnit.NANOSECONDS);
+        recordPayload(SegmentProtocol.uncompactedSize(pending, objectMapper), payload);
+        ProviderChain.Reply reply = callProvider(prompt, payload, targetLanguage);
+        try {
+            return new Provided(metrics.stage(Stage.PARSE).recordCallable(() ->
+                SegmentProtocol.decode(reply.text(), pending, objectMapper)), reply.provider().cacheable());
+        } catch (JsonProcessingException e) {
+            Map<String, String> salvaged = metrics.stage(Stage.PARSE).record(() ->
+                SegmentProtocol.salvage(reply.text(), pending, objectMapper));
+            return completeSalvaged(pending, salvaged, reply.provider().cacheable(), targetLanguage, retryMissing, e);
+        }
+    }
+
+    /**
+     * Finishes a translation whose reply was malformed. Segments that could not be salvaged are
+     * requested again, once, in a single follow-up call; if that reply is broken too, whatever it
+     * yields is used and the rest keep their source text. Such an incomplete result is not cached.
+     * Only a reply that yields nothing at all on the follow-up fails the translation.
+     */
+    private Provided completeSalvaged(List<ResumeSegments.Segment> pending, Map<String, String> salvaged,
+                                      boolean cacheable, String targetLanguage, boolean retryMissing,
+                                      JsonProcessingException defect) throws Exception {
+        log.warn("🩹 Malformed reply for language {}: salvaged {}/{} segment(s) ({})",
+            targetLanguage, salvaged.size(), pending.size(), defect.getOriginalMessage());
+        List<ResumeSegments.Segment> missing = pending.stream()
+            .filter(segment -> !salvaged.containsKey(segment.path()))
+            .toList();
+        if (missing.isEmpty()) {
+            metrics.recordMalformedReply("repaired");
+            return new Provided(salvaged, cacheable);
+        }
+        if (!retryMissing) {
+            if (salvaged.isEmpty()) {
+                metrics.recordMalformedReply("failed");
+                log.error("❌ JSON processing error during translation", defect);
+                throw new Exception("Failed to process JSON during translation: " + defect.getMessage(), defect);
+            }
+            metrics.recordMalformedReply("incomplete");
+            return new Provided(salvaged, false);
+        }
+
+        metrics.recordMalformedReply("retried");
+        log.info("🔁 Re-requesting {} segment(s) missing from the malformed reply", missing.size());
+        Provided retried = translateAsSegments(missing, targetLanguage, false);
+        Map<String, String> merged = new HashMap<>(salvaged);
+        merged.putAll(retried.translations());
+        return new Provided(merged, cacheable && retried.cacheable());
+    }
+
+    /**
+     * Fans the pending segments out into per-section units that are translated concurrently on virtual
+     * threads; a unit that fails on every key cancels its siblings and fails the translation.
+     */
+    private Provided translateInParallel(List<ResumeSegments.Segment> pending,
+                                         String targetLanguage) throws Exception {
+        List<List<ResumeSegments.Segment>> units =
+            SectionFanOut.split(pending, properties.getFanOut().getMaxSegmentsPerUnit());
+        log.info("🔀 Fanning out {} segment(s) into {} parallel unit(s) for language: {}",
+            pending.size(), units.size(), targetLanguage);
+
+        List<Callable<Provided>> tasks = new ArrayList<>(units.size());
+        for (List<ResumeSegments.Segment> unit : units) {
+            tasks.add(() -> translateAsSegments(unit, targetLanguage));
+        }
+        Map<String, String> provided = new HashMap<>();
+        boolean cacheable = true;
+        for (Provided unitResult : SectionFanOut.invokeAll(tasks, properties.getFanOut().getMaxParallelism())) {
+            provided.putAll(unitResult.translations());
+            cacheable &= unitResult.cacheable();
+        }
+        return new Provided(provided, cacheable);
+    }
+
+    /**
+     * Legacy protocol: round-trips the pending text in the shape of the resume JSON. Only the
+     * pending segments are sent, normalized and de-duplicated ({@link PromptPayload#tree}); nulls,
+     * empty values and fields that are never translated stay behind and are restored from the source.
+     * When the reply is malformed, its intact top-level sections are kept and only the segments of
+     * the others are requested again.
+     */
+    private Provided translateAsJson(JsonNode sourceTree, List<ResumeSegments.Segment> pending,
+                                     String targetLanguage) throws Exception {
+        long promptStart = System.nanoTime();
+        PromptPayload compaction = PromptPayload.of(pending);
+        PromptPayload.Tree compact = compaction.tree(sourceTree, objectMapper);
+        String payload = objectMapper.writeValueAsString(compact.root());
+        String prompt = buildTranslationPrompt(payload, targetLanguage);
+        metrics.stage(Stage.PROMPT_BUILD).record(System.nanoTime() - promptStart, TimeUnit.NANOSECONDS);
+        recordPayload(PromptPayload.serializedSize(sourceTree, objectMapper), payload);
+        ProviderChain.Reply reply = callProvider(prompt, payload, targetLanguage);
+
+        JsonNode translatedTree;
+        try {
+            // Parse the translated JSON back to ResumeDto
+            translatedTree = metrics.stage(Stage.PARSE).recordCallable(() ->
+                objectMapper.valueToTree(ReplyParser.readResume(reply.text(), objectMapper)));
+        } catch (JsonProcessingException e) {
+            // Keep the sections that arrived intact; the rest is re-requested as numbered segments
+            JsonNode sections = metrics.stage(Stage.PARSE).record(() -> ReplySalvage.members(reply.text(), objectMapper));
+            return completeSalvaged(pending, compaction.restore(sections, compact.paths()), reply.provider().cacheable(),
+                targetLanguage, true, e);
+        }
+        return new Provided(compaction.restore(translatedTree, compact.paths()), reply.provider().cacheable());
+    }
+
+    /**
+     * Extracts the translatable segments with blobs left out or replaced by placeholders; see
+     * {@link BlobExternalizer}.
+     */
+    private BlobExternalizer.Externalized extractSegments(JsonNode sourceTree) {
+        BlobExternalizer.Externalized extracted = blobs.externalize(ResumeSegments.extract(sourceTree));
+        metrics.recordBlobsSaved("value", extracted.valueBytes());
+        metrics.recordBlobsSaved("inline", extracted.inlineBytes());
+        return extracted;
+    }
+
+    /**
+     * Records the prompt payload before compaction and as sent.
+     */
+    private void recordPayload(long uncompactedBytes, String payload) {
+        metrics.recordPayload(uncompactedBytes, PromptPayload.utf8Length(payload));
     }
 
-    private String buildTranslationPrompt(String resumeJson, String languageCode) {
+    private void rememberSegments(List<ResumeSegments.Segment> pending, Map<String, String> provided,
+                                  String targetLanguage) {
+        if (translationMemory == null) {
+            return;
+        }
+        for (ResumeSegments.Segment segment : pending) {
+            String translation = provided.get(segment.path());
+            if (translation != null) {
+                translationMemory.put(segment.text(), targetLanguage, translation);
+            }
+        }
+    }
+
+    private Map<String, String> recallSegments(List<ResumeSegments.Segment> segments, String targetLanguage) {
+        Map<String, String> remembered = new HashMap<>();
+        if (translationMemory == null) {
+            return remembered;
+        }
+        for (ResumeSegments.Segment segment : segments) {
+            translationMemory.get(segment.text(), targetLanguage)
+                .ifPresent(translation -> remembered.put(segment.path(), translation));
+        }
+        if (!remembered.isEmpty()) {
+            log.debug("Translation memory supplied {}/{} segment(s)", remembered.size(), segments.size());
+        }
+        return remembered;
+    }
+
+    /**
+     * Sends the prompt down the provider chain and returns the raw reply text with the provider that
+     * answered. Markdown fences around the JSON are skipped by {@link ReplyParser} while parsing.
+     */
+    private ProviderChain.Reply callProvider(String prompt, String payload, String targetLanguage) throws Exception {
+        return providerChain.translate(new TranslationProvider.Request(prompt, payload, targetLanguage));
+    }
+
+    /**
+     * Segment translations returned by the provider chain, and whether they may be remembered and cached.
+     */
+    private record Provided(Map<String, String> translations, boolean cacheable) {
+    }
+
+    private record Translation(ResumeDto resume, boolean cacheable) {
+    }
+
+    static String buildTranslationPrompt(String resumeJson, String languageCode) {
         return String.format("""
             You are a professional resume translator. Translate the following resume JSON data to %s language.
             
@@ -151,7 +742,7 @@ public class TranslationService {
             6. Ensure the output is valid JSON that can be parsed
             7. If a field is null or empty, keep it as null or empty
             8. Do translate SectionHeaders
-            9. The field basics.image MUST be returned EXACTLY as in the input (unchanged). Never modify, translate, download, rehost, or replace it.
+            9. Keep placeholders such as [[blob:1]] exactly as they are
             Resume JSON to translate:
             %s
             
@@ -159,6 +750,26 @@ public class TranslationService {
             """, languageCode, resumeJson);
     }
 
+    static String buildSegmentPrompt(String segmentsJson, String languageCode) {
+        return String.format("""
+            You are a professional resume translator. Translate every text segment of the following JSON object to %s language.
+            
+            CRITICAL INSTRUCTIONS:
+            1. The input maps segment numbers to pieces of resume text (titles, summaries, highlights, skills, section headers, ...)
+            2. Return ONLY a JSON object with exactly the same keys, each mapped to its translated text, no additional text or markdown formatting
+            3. Translate every segment; keep product, technology and proper names as they are
+            4. Preserve line breaks, bullet characters and punctuation inside each segment
+            5. Keep placeholders such as [[blob:1]] exactly as they are
+            6. Ensure the output is valid JSON that can be parsed
+            Segments to translate:
+            %s
+            """, languageCode, segmentsJson);
+    }
+
+    private ResumeDto preserveImmutable(ResumeDto original, ResumeDto translated) {
+        return metrics.stage(Stage.PRESERVE_IMMUTABLE).record(() -> preserveImmutableFields(original, translated));
+    }
+
     protected ResumeDto preserveImmutableFields(ResumeDto original, ResumeDto translated) {
         if (original == null) {
             return translated;
@@ -180,18 +791,31 @@ public class TranslationService {
         return translated;
     }
 
-    private String cleanJsonResponse(String response) {
-        // Remove potential markdown code blocks
-        String cleaned = response.trim();
-        if (cleaned.startsWith("```json")) {
-            cleaned = cleaned.substring(7);
-        }
-        if (cleaned.startsWith("```")) {
-            cleaned = cleaned.substring(3);
-        }
-        if (cleaned.endsWith("```")) {
-            cleaned = cleaned.substring(0, cleaned.length() - 3);
+    private JsonNode toTree(ResumeDto source) {
+        return metrics.stage(Stage.SERIALIZE).record(() -> objectMapper.valueToTree(source));
+    }
+
+    /**
+     * Runs one translation and records its end-to-end latency for the target language, and whether a
+     * failure was the client giving up or the request running out of its deadline.
+     */
+    private <T> T recordRequest(String targetLanguage, Callable<T> translation) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = translation.call();
+            success = true;
+            return result;
+        } finally {
+            metrics.recordRequest(targetLanguage, System.nanoTime() - start, success);
+            RequestDeadline deadline = RequestDeadline.current();
+            if (!success && deadline.isDone()) {
+                metrics.recordAbandoned(deadline.isCancelled() ? "cancelled" : "deadline_exceeded");
+            }
         }
-        return cleaned.trim();
+    }
+
+    private ResumeDto copyOf(ResumeDto resume) {
+        return objectMapper.convertValue(objectMapper.valueToTree(resume), ResumeDto.class);
     }
 }
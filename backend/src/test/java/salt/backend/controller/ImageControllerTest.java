@@ -0,0 +1,91 @@
+package salt.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import salt.backend.services.TranslationService;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for ImageController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3};
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TranslationService translationService;
+
+    @DynamicPropertySource
+    static void imageStore(DynamicPropertyRegistry registry) {
+        registry.add("images.directory", () -> directory.toString());
+        registry.add("images.max-size", () -> "64B");
+    }
+
+    @Test
+    void upload_ShouldReturnCreatedWithReference() throws Exception {
+        mockMvc.perform(post("/api/images").contentType(MediaType.IMAGE_PNG).content(PNG))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", startsWith("/api/images/")))
+                .andExpect(jsonPath("$.contentType").value("image/png"))
+                .andExpect(jsonPath("$.size").value(PNG.length))
+                .andExpect(jsonPath("$.url").value(matchesPattern("/api/images/[0-9a-f]{64}")));
+    }
+
+    @Test
+    void get_ShouldServeImageWithImmutableCachingAndETag() throws Exception {
+        String location = mockMvc.perform(post("/api/images").contentType(MediaType.IMAGE_PNG).content(PNG))
+                .andReturn().getResponse().getHeader("Location");
+        String etag = "\"" + location.substring("/api/images/".length()) + "\"";
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+
+        mockMvc.perform(get(location).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void get_WhenImageIsUnknown_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/images/" + "0".repeat(64)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void upload_WhenBodyIsNotAnImage_ShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/images").contentType(MediaType.IMAGE_PNG).content("not an image"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void upload_WhenImageIsTooLarge_ShouldReturnPayloadTooLarge() throws Exception {
+        mockMvc.perform(post("/api/images").contentType(MediaType.IMAGE_PNG).content(new byte[65]))
+                .andExpect(status().isPayloadTooLarge());
+    }
+}
@@ -3,16 +3,19 @@ package salt.backend.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import salt.backend.dto.ResumeDto;
 import salt.backend.dto.TranslationRequestDto;
+import salt.backend.services.TranslationLimiter;
 import salt.backend.services.TranslationService;
 
+import java.time.Duration;
+
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,7 +31,6 @@ class ResumeControllerSimpleTest {
     @Mock
     private TranslationService translationService;
 
-    @InjectMocks
     private ResumeController resumeController;
 
     private ResumeDto sampleResume;
@@ -36,6 +38,9 @@ class ResumeControllerSimpleTest {
 
     @BeforeEach
     void setUp() {
+        resumeController = new ResumeController(translationService,
+                new TranslationLimiter(Executors.newVirtualThreadPerTaskExecutor(), 4, 10, Duration.ofSeconds(5)));
+
         // Create a sample resume for testing
         sampleResume = ResumeDto.builder()
                 .basics(ResumeDto.Basics.builder()
@@ -96,7 +101,7 @@ class ResumeControllerSimpleTest {
                 .thenReturn(translatedResume);
 
         // Act
-        ResponseEntity<ResumeDto> response = resumeController.translateResume(validRequest);
+        ResponseEntity<ResumeDto> response = resumeController.translateResume(validRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -117,7 +122,7 @@ class ResumeControllerSimpleTest {
                 .thenThrow(new RuntimeException("Translation service error"));
 
         // Act
-        ResponseEntity<ResumeDto> response = resumeController.translateResume(validRequest);
+        ResponseEntity<ResumeDto> response = resumeController.translateResume(validRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -162,7 +167,7 @@ class ResumeControllerSimpleTest {
                 .thenReturn(translatedResume);
 
         // Act
-        ResponseEntity<ResumeDto> response = resumeController.translateResume(minimalRequest);
+        ResponseEntity<ResumeDto> response = resumeController.translateResume(minimalRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -262,7 +267,7 @@ class ResumeControllerSimpleTest {
                 .thenReturn(complexResume); // Return the same for simplicity
 
         // Act
-        ResponseEntity<ResumeDto> response = resumeController.translateResume(complexRequest);
+        ResponseEntity<ResumeDto> response = resumeController.translateResume(complexRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -9,16 +9,28 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import salt.backend.dto.BatchTranslationRequestDto;
+import salt.backend.dto.BatchTranslationResponseDto;
+import salt.backend.dto.DeltaTranslationRequestDto;
 import salt.backend.dto.ResumeDto;
 import salt.backend.dto.TranslationRequestDto;
+import salt.backend.services.KeyRateLimiter;
+import salt.backend.services.KeyScheduler;
+import salt.backend.services.TranslationSectionListener;
 import salt.backend.services.TranslationService;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -103,7 +115,7 @@ class ResumeControllerTest {
                 .thenReturn(translatedResume);
 
         // Act & Assert
-        mockMvc.perform(post("/api/translate")
+        performAsync(post("/api/translate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validRequest)))
                 .andExpect(status().isOk())
@@ -167,6 +179,25 @@ class ResumeControllerTest {
         verify(translationService, never()).translateResume(any(TranslationRequestDto.class));
     }
 
+    @Test
+    void translateResume_WithDataUrlImage_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        TranslationRequestDto invalidRequest = TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder()
+                        .basics(ResumeDto.Basics.builder().image("data:image/png;base64,iVBORw0KGgo=").build())
+                        .build())
+                .targetLanguage("es")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(translationService, never()).translateResume(any(TranslationRequestDto.class));
+    }
+
     @Test
     void translateResume_WithInvalidJson_ShouldReturnBadRequest() throws Exception {
         // Act & Assert
@@ -196,7 +227,7 @@ class ResumeControllerTest {
                 .thenThrow(new RuntimeException("Translation service error"));
 
         // Act & Assert
-        mockMvc.perform(post("/api/translate")
+        performAsync(post("/api/translate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validRequest)))
                 .andExpect(status().isInternalServerError());
@@ -228,7 +259,7 @@ class ResumeControllerTest {
                 .thenReturn(translatedResume);
 
         // Act & Assert
-        mockMvc.perform(post("/api/translate")
+        performAsync(post("/api/translate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(minimalRequest)))
                 .andExpect(status().isOk())
@@ -343,7 +374,7 @@ class ResumeControllerTest {
                 .thenReturn(complexResume); // Return the same for simplicity
 
         // Act & Assert
-        mockMvc.perform(post("/api/translate")
+        performAsync(post("/api/translate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(complexRequest)))
                 .andExpect(status().isOk())
@@ -372,7 +403,7 @@ class ResumeControllerTest {
             when(translationService.translateResume(any(TranslationRequestDto.class)))
                     .thenReturn(sampleResume);
 
-            mockMvc.perform(post("/api/translate")
+            performAsync(post("/api/translate")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isOk());
@@ -380,4 +411,201 @@ class ResumeControllerTest {
             verify(translationService, atLeastOnce()).translateResume(any(TranslationRequestDto.class));
         }
     }
+
+    @Test
+    void translateDelta_WithValidRequest_ShouldReturnMergedTranslation() throws Exception {
+        // Arrange
+        DeltaTranslationRequestDto deltaRequest = DeltaTranslationRequestDto.builder()
+                .previousResumeData(sampleResume)
+                .previousTranslation(sampleResume)
+                .resumeData(sampleResume)
+                .targetLanguage("es")
+                .build();
+        ResumeDto translatedResume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("John Doe").summary("Desarrollador").build())
+                .build();
+
+        when(translationService.translateDelta(any(DeltaTranslationRequestDto.class)))
+                .thenReturn(translatedResume);
+
+        // Act & Assert
+        performAsync(post("/api/translate/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(deltaRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.basics.summary").value("Desarrollador"));
+
+        verify(translationService, times(1)).translateDelta(any(DeltaTranslationRequestDto.class));
+    }
+
+    @Test
+    void translateDelta_WithoutResumeData_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        DeltaTranslationRequestDto deltaRequest = DeltaTranslationRequestDto.builder()
+                .previousResumeData(sampleResume)
+                .targetLanguage("es")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate/delta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(deltaRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(translationService, never()).translateDelta(any(DeltaTranslationRequestDto.class));
+    }
+
+    @Test
+    void translateBatch_WithPartialFailure_ShouldReturnTranslationsAndErrors() throws Exception {
+        // Arrange
+        BatchTranslationRequestDto batchRequest = BatchTranslationRequestDto.builder()
+                .resumeData(sampleResume)
+                .targetLanguages(List.of("es", "fr"))
+                .build();
+        when(translationService.translateBatch(any(BatchTranslationRequestDto.class)))
+                .thenReturn(BatchTranslationResponseDto.builder()
+                        .translations(Map.of("es", sampleResume))
+                        .errors(Map.of("fr", "Translation failed"))
+                        .build());
+
+        // Act & Assert
+        performAsync(post("/api/translate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.translations.es.basics.name").value("John Doe"))
+                .andExpect(jsonPath("$.errors.fr").value("Translation failed"));
+    }
+
+    @Test
+    void translateBatch_WhenEveryLanguageFails_ShouldReturnInternalServerError() throws Exception {
+        // Arrange
+        BatchTranslationRequestDto batchRequest = BatchTranslationRequestDto.builder()
+                .resumeData(sampleResume)
+                .targetLanguages(List.of("es"))
+                .build();
+        when(translationService.translateBatch(any(BatchTranslationRequestDto.class)))
+                .thenReturn(BatchTranslationResponseDto.builder()
+                        .translations(Map.of())
+                        .errors(Map.of("es", "Translation failed"))
+                        .build());
+
+        // Act & Assert
+        performAsync(post("/api/translate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.errors.es").value("Translation failed"));
+    }
+
+    @Test
+    void translateBatch_WithBlankLanguage_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        BatchTranslationRequestDto batchRequest = BatchTranslationRequestDto.builder()
+                .resumeData(sampleResume)
+                .targetLanguages(List.of("es", " "))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(translationService, never()).translateBatch(any(BatchTranslationRequestDto.class));
+    }
+
+    @Test
+    void keys_ShouldReturnSchedulerAndRateLimitStatePerKey() throws Exception {
+        // Arrange
+        when(translationService.keyStatus()).thenReturn(List.of(
+                new KeyScheduler.KeyStatus(0, KeyScheduler.State.COOLDOWN, 850.0, 1, 42_000)));
+        when(translationService.rateLimitStats()).thenReturn(List.of(
+                new KeyRateLimiter.KeyStats(0, 3, 8, 120, 2, 15, 900)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/keys"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[0].state").value("COOLDOWN"))
+                .andExpect(jsonPath("$.rateLimits[0].queueDepth").value(3))
+                .andExpect(jsonPath("$.rateLimits[0].averageWaitMs").value(15));
+    }
+
+    @Test
+    void translateResumeStream_ShouldSendOneEventPerSectionThenComplete() throws Exception {
+        // Arrange
+        when(translationService.translateResumeStream(any(TranslationRequestDto.class), any(TranslationSectionListener.class)))
+                .thenAnswer(invocation -> {
+                    TranslationSectionListener listener = invocation.getArgument(1);
+                    listener.onSection("basics", objectMapper.valueToTree(sampleResume.getBasics()));
+                    listener.onSection("work", objectMapper.valueToTree(sampleResume.getWork()));
+                    return sampleResume;
+                });
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/translate/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        int basics = body.indexOf("event:basics");
+        int work = body.indexOf("event:work");
+        int complete = body.indexOf("event:complete");
+        assertTrue(basics >= 0 && basics < work && work < complete, body);
+    }
+
+    @Test
+    void translateResumeStream_WhenServiceThrowsException_ShouldSendErrorEvent() throws Exception {
+        // Arrange
+        when(translationService.translateResumeStream(any(TranslationRequestDto.class), any(TranslationSectionListener.class)))
+                .thenThrow(new RuntimeException("Translation service error"));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/translate/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        // Assert
+        assertTrue(result.getResponse().getContentAsString().contains("event:error"));
+    }
+
+    @Test
+    void translateResumeStream_ShouldKeepTheConnectionOpenForTheRequestDeadlinePlusSlack() throws Exception {
+        // Arrange
+        when(translationService.translateResumeStream(any(TranslationRequestDto.class), any(TranslationSectionListener.class)))
+                .thenReturn(sampleResume);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/translate/stream")
+                        .header("X-Request-Timeout", "2000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        // Assert: 2 s deadline plus 5 s slack, not a fixed three minutes
+        long timeout = result.getRequest().getAsyncContext().getTimeout();
+        assertTrue(timeout > 6_000 && timeout <= 7_000, "async timeout " + timeout);
+    }
+
+    /**
+     * Performs a request handled asynchronously by the controller and dispatches its result.
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
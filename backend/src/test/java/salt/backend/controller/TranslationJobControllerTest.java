@@ -0,0 +1,121 @@
+package salt.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationJobDto;
+import salt.backend.dto.TranslationRequestDto;
+import salt.backend.services.TranslationJobService;
+import salt.backend.services.TranslationService;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for TranslationJobController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TranslationJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TranslationJobService jobService;
+
+    @MockBean
+    private TranslationService translationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TranslationRequestDto request = TranslationRequestDto.builder()
+            .resumeData(ResumeDto.builder().basics(ResumeDto.Basics.builder().name("John Doe").build()).build())
+            .targetLanguage("es")
+            .build();
+
+    @Test
+    void submit_ShouldReturnAcceptedWithJobLocation() throws Exception {
+        // Arrange
+        when(jobService.submit(any(TranslationRequestDto.class))).thenReturn(TranslationJobDto.builder()
+                .id("job-1")
+                .status(TranslationJobDto.Status.QUEUED)
+                .targetLanguage("es")
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/translate/jobs/job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.result").doesNotExist());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Arrange
+        when(jobService.submit(any(TranslationRequestDto.class))).thenThrow(new RejectedExecutionException("full"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+    }
+
+    @Test
+    void submit_WithoutLanguage_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        TranslationRequestDto invalid = TranslationRequestDto.builder().resumeData(request.getResumeData()).build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/translate/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest());
+
+        verify(jobService, never()).submit(any(TranslationRequestDto.class));
+    }
+
+    @Test
+    void get_ShouldReturnJobWithResult() throws Exception {
+        // Arrange
+        when(jobService.find("job-1")).thenReturn(Optional.of(TranslationJobDto.builder()
+                .id("job-1")
+                .status(TranslationJobDto.Status.SUCCEEDED)
+                .result(ResumeDto.builder().basics(ResumeDto.Basics.builder().name("John Doe").build()).build())
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/translate/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.basics.name").value("John Doe"));
+    }
+
+    @Test
+    void get_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(jobService.find("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/translate/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -30,7 +30,7 @@ class CorsE2ETest {
     private TestRestTemplate restTemplate;
 
     @Value("${cors.allowed-origins}")
-    private static String FRONTEND_ORIGIN;
+    private String FRONTEND_ORIGIN;
     private static final String BLOCKED_ORIGIN = "http://localhost:3001";
 
     @Test
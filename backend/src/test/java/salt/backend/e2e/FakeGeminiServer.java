@@ -0,0 +1,265 @@
+package salt.backend.e2e;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the Gemini generative-language API, for load tests without quota or network.
+ * Point {@code translation.gemini.base-url} at {@link #baseUrl()}.
+ * <p>
+ * Answers {@code :generateContent} and {@code :streamGenerateContent} after a latency drawn from a
+ * {@link Latency} model, fails a configurable share of calls with 429 or 503, and replies either with
+ * canned text or by echoing the segments of the prompt back, prefixed with the target language.
+ */
+public final class FakeGeminiServer implements AutoCloseable {
+
+    private static final Pattern LANGUAGE = Pattern.compile("to (\\S+) language");
+    private static final String[] PAYLOAD_MARKERS = {"Segments to translate:", "Resume JSON to translate:"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, AtomicLong> callsByKey = new ConcurrentHashMap<>();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+
+    private volatile Latency latency = Latency.fixed(Duration.ZERO);
+    private volatile double rateLimitRate;
+    private volatile double serverErrorRate;
+    private volatile Function<String, String> replies = this::echo;
+
+    public FakeGeminiServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FakeGeminiServer latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Share of calls, from 0 to 1, answered with 429 RESOURCE_EXHAUSTED.
+     */
+    public FakeGeminiServer rateLimitRate(double rate) {
+        this.rateLimitRate = rate;
+        return this;
+    }
+
+    /**
+     * Share of calls, from 0 to 1, answered with 503 UNAVAILABLE.
+     */
+    public FakeGeminiServer serverErrorRate(double rate) {
+        this.serverErrorRate = rate;
+        return this;
+    }
+
+    /**
+     * Replaces the echo translation with a fixed reply text.
+     */
+    public FakeGeminiServer cannedReply(String text) {
+        this.replies = prompt -> text;
+        return this;
+    }
+
+    /**
+     * Calls received per API key, including the ones answered with an error.
+     */
+    public Map<String, Long> callsByKey() {
+        Map<String, Long> calls = new ConcurrentHashMap<>();
+        callsByKey.forEach((key, count) -> calls.put(key, count.get()));
+        return calls;
+    }
+
+    public long totalCalls() {
+        return callsByKey.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    public long rateLimited() {
+        return rateLimited.get();
+    }
+
+    public long serverErrors() {
+        return serverErrors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String apiKey = String.valueOf(exchange.getRequestHeaders().getFirst("x-goog-api-key"));
+            callsByKey.computeIfAbsent(apiKey, key -> new AtomicLong()).incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+
+            sleep(latency.next(ThreadLocalRandom.current()));
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rateLimitRate) {
+                rateLimited.incrementAndGet();
+                sendError(exchange, 429, "RESOURCE_EXHAUSTED", "Resource has been exhausted (e.g. check quota).");
+                return;
+            }
+            if (roll < rateLimitRate + serverErrorRate) {
+                serverErrors.incrementAndGet();
+                sendError(exchange, 503, "UNAVAILABLE", "The model is overloaded. Please try again later.");
+                return;
+            }
+
+            String prompt = request.at("/contents/0/parts/0/text").asText("");
+            String reply = replies.apply(prompt);
+            if (path.endsWith(":streamGenerateContent")) {
+                sendStream(exchange, prompt, reply);
+            } else if (path.endsWith(":generateContent")) {
+                send(exchange, 200, "application/json", objectMapper.writeValueAsBytes(response(prompt, reply)));
+            } else {
+                sendError(exchange, 404, "NOT_FOUND", "Unknown method " + path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replies with the JSON object embedded in the prompt, every string value prefixed with the
+     * target language, so a translation is recognizable and always matches the prompt's segments.
+     */
+    private String echo(String prompt) {
+        Matcher language = LANGUAGE.matcher(prompt);
+        String prefix = "[" + (language.find() ? language.group(1) : "xx") + "] ";
+        for (String marker : PAYLOAD_MARKERS) {
+            int start = prompt.indexOf('{', Math.max(0, prompt.indexOf(marker)));
+            if (prompt.contains(marker) && start >= 0) {
+                try {
+                    JsonNode payload = objectMapper.readTree(prompt.substring(start));
+                    return objectMapper.writeValueAsString(prefixStrings(payload, prefix));
+                } catch (IOException e) {
+                    return "{}";
+                }
+            }
+        }
+        return "{}";
+    }
+
+    private JsonNode prefixStrings(JsonNode node, String prefix) {
+        if (node.isTextual()) {
+            return objectMapper.getNodeFactory().textNode(prefix + node.asText());
+        }
+        if (node.isObject()) {
+            ObjectNode copy = objectMapper.createObjectNode();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(field.getKey(), prefixStrings(field.getValue(), prefix));
+            }
+            return copy;
+        }
+        if (node.isArray()) {
+            var copy = objectMapper.createArrayNode();
+            node.forEach(element -> copy.add(prefixStrings(element, prefix)));
+            return copy;
+        }
+        return node;
+    }
+
+    private ObjectNode response(String prompt, String text) {
+        ObjectNode response = objectMapper.createObjectNode();
+        ObjectNode candidate = response.putArray("candidates").addObject();
+        ObjectNode content = candidate.putObject("content");
+        content.put("role", "model");
+        content.putArray("parts").addObject().put("text", text);
+        candidate.put("finishReason", "STOP");
+        ObjectNode usage = response.putObject("usageMetadata");
+        // Roughly four characters per token, like the client-side estimate
+        usage.put("promptTokenCount", prompt.length() / 4);
+        usage.put("candidatesTokenCount", text.length() / 4);
+        usage.put("totalTokenCount", (prompt.length() + text.length()) / 4);
+        return response;
+    }
+
+    private void sendStream(HttpExchange exchange, String prompt, String reply) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            int half = reply.length() / 2;
+            for (String chunk : new String[]{reply.substring(0, half), reply.substring(half)}) {
+                body.write(("data: " + objectMapper.writeValueAsString(response(prompt, chunk)) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int code, String status, String message) throws IOException {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putObject("error").put("code", code).put("message", message).put("status", status);
+        send(exchange, code, "application/json", objectMapper.writeValueAsBytes(error));
+    }
+
+    private static void send(HttpExchange exchange, int code, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+
+    /**
+     * Response latency distribution of the fake provider.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        Duration next(Random random);
+
+        static Latency fixed(Duration latency) {
+            return random -> latency;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            long spread = max.toMillis() - min.toMillis();
+            return random -> min.plusMillis(spread > 0 ? random.nextLong(spread + 1) : 0);
+        }
+
+        /**
+         * Long-tailed like real model latency: most calls near the median, a few far slower.
+         */
+        static Latency logNormal(Duration median, double sigma) {
+            return random -> Duration.ofMillis(Math.round(median.toMillis() * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+}
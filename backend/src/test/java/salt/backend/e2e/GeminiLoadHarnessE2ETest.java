@@ -0,0 +1,120 @@
+package salt.backend.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the full Spring MVC path of /api/translate against {@link FakeGeminiServer}: real
+ * controller, limiter, key scheduler and Gemini client, with provider latency and failures under
+ * the test's control. Every request carries different text so caches do not short-circuit the load.
+ * Tagged {@code load}: it is left out of the default test run and runs with {@code -Pbenchmark}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GeminiLoadHarnessE2ETest {
+
+    private static final FakeGeminiServer GEMINI = startGemini();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void pointAtFakeGemini(DynamicPropertyRegistry registry) {
+        for (int i = 0; i < 4; i++) {
+            String apiKey = "load-key-" + i;
+            registry.add("translation.gemini.api-keys[" + i + "]", () -> apiKey);
+        }
+        registry.add("translation.gemini.base-url", GEMINI::baseUrl);
+        registry.add("translation.rate-limit.requests-per-minute", () -> 100_000);
+        registry.add("translation.scheduler.rate-limit-cooldown", () -> "50ms");
+        registry.add("translation.scheduler.circuit-open-duration", () -> "50ms");
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        GEMINI.close();
+    }
+
+    @Test
+    void translate_WithHealthyProvider_ShouldSpreadLoadOverEveryKey() throws Exception {
+        GEMINI.latency(FakeGeminiServer.Latency.logNormal(Duration.ofMillis(30), 0.5))
+                .rateLimitRate(0)
+                .serverErrorRate(0);
+
+        LoadDriver.Report report = LoadDriver.run(200, 16, this::translateRequest);
+        log.info("Fake Gemini, healthy: {}", report);
+
+        assertEquals(0, report.errorRate(), report.toString());
+        assertTrue(report.p50Ms() >= 20, report.toString());
+        assertEquals(4, GEMINI.callsByKey().size(), GEMINI.callsByKey().toString());
+    }
+
+    @Test
+    void translate_WithRateLimitsAndOutages_ShouldFailOverToOtherKeys() throws Exception {
+        GEMINI.latency(FakeGeminiServer.Latency.uniform(Duration.ofMillis(5), Duration.ofMillis(40)))
+                .rateLimitRate(0.10)
+                .serverErrorRate(0.05);
+        long callsBefore = GEMINI.totalCalls();
+
+        LoadDriver.Report report = LoadDriver.run(200, 16, this::translateRequest);
+        log.info("Fake Gemini, 10% 429 + 5% 503: {}, provider calls {}", report, GEMINI.totalCalls() - callsBefore);
+
+        assertTrue(GEMINI.rateLimited() > 0 && GEMINI.serverErrors() > 0);
+        // Retries on the other keys absorb nearly all injected failures
+        assertTrue(report.errorRate() < 0.05, report.toString());
+        assertTrue(GEMINI.totalCalls() - callsBefore > 200, "failed calls should have been retried");
+    }
+
+    private HttpRequest translateRequest(int index) {
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .name("Load Test " + index)
+                        .label("Engineer " + index)
+                        .summary("Built service number " + index + " for the load test.")
+                        .build())
+                .build();
+        try {
+            String body = objectMapper.writeValueAsString(TranslationRequestDto.builder()
+                    .resumeData(resume)
+                    .targetLanguage("es")
+                    .build());
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/translate"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FakeGeminiServer startGemini() {
+        try {
+            return new FakeGeminiServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
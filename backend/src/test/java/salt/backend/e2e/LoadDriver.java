@@ -0,0 +1,90 @@
+package salt.backend.e2e;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load generator: keeps {@code concurrency} requests in flight until {@code requests}
+ * have completed, then reports throughput, latency percentiles and the status code mix.
+ */
+final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    static Report run(int requests, int concurrency, IntFunction<HttpRequest> requestFor) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        Semaphore slots = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                slots.acquire();
+                int index = i;
+                executor.submit(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        statuses[index] = client.send(requestFor.apply(index), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                    } catch (Exception e) {
+                        // Connection failures count as errors with status 0
+                        statuses[index] = 0;
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        slots.release();
+                    }
+                });
+            }
+        }
+        return Report.of(Duration.ofNanos(System.nanoTime() - start), latencies, statuses);
+    }
+
+    record Report(int requests, Duration elapsed, double throughputPerSecond, double p50Ms, double p95Ms,
+                  double p99Ms, double maxMs, double errorRate, Map<Integer, Long> statusCounts) {
+
+        private static Report of(Duration elapsed, long[] latencies, int[] statuses) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            long errors = 0;
+            for (int status : statuses) {
+                statusCounts.merge(status, 1L, Long::sum);
+                if (status < 200 || status >= 300) {
+                    errors++;
+                }
+            }
+            int requests = latencies.length;
+            return new Report(requests, elapsed, requests / (elapsed.toNanos() / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted[requests - 1] / 1e6, (double) errors / requests, statusCounts);
+        }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %d ms: %.1f req/s, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, "
+                            + "max %.1f ms, errors %.2f%%, statuses %s",
+                    requests, elapsed.toMillis(), throughputPerSecond, p50Ms, p95Ms, p99Ms, maxMs,
+                    errorRate * 100, statusCounts);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package salt.backend.e2e;
+
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.*;
+import salt.backend.config.TranslationProperties;
+import salt.backend.services.MockGemini;
+import salt.backend.services.TranslationService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Metrics export is switched off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsE2ETest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void prometheus_ExposesPipelineMetricsAfterATranslation() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String requestJson = """
+            {
+              "resumeData": { "basics": { "name": "Jane", "label": "Engineer" } },
+              "targetLanguage": "es"
+            }
+            """;
+
+        ResponseEntity<String> translated = restTemplate.exchange(
+                "/api/translate", HttpMethod.POST, new HttpEntity<>(requestJson, headers), String.class);
+        assertEquals(HttpStatus.OK, translated.getStatusCode());
+        assertTrue(translated.getBody().contains("Ingeniera"));
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String metrics = scrape.getBody();
+        for (String stage : new String[]{"serialize", "prompt_build", "provider_call",
+                "parse", "assemble", "preserve_immutable"}) {
+            assertTrue(metrics.contains("translation_stage_seconds_count{stage=\"" + stage + "\"}"), stage);
+        }
+        assertTrue(metrics.contains("translation_provider_calls_total{key=\"0\",outcome=\"success\"} 1.0"));
+        assertTrue(metrics.contains("translation_requests_seconds_count{language=\"es\",outcome=\"success\"} 1"));
+        assertTrue(metrics.contains("translation_provider_tokens_total{model=\"gemini-2.5-flash\",type=\"prompt\"} 120.0"));
+        assertTrue(metrics.contains("translation_provider_tokens_total{model=\"gemini-2.5-flash\",type=\"response\"} 8.0"));
+        assertTrue(metrics.contains("translation_provider_prompt_size_chars_count{model=\"gemini-2.5-flash\"} 1"));
+    }
+
+    @TestConfiguration
+    static class FakeGeminiConfig {
+        @Bean
+        @Primary
+        TranslationService translationService(TranslationProperties properties, MeterRegistry meterRegistry) throws Exception {
+            MockGemini gemini = new MockGemini();
+            Models models = gemini.models();
+            GenerateContentResponse response = mock(GenerateContentResponse.class);
+            when(response.text()).thenReturn("{\"1\":\"Ingeniera\"}");
+            when(response.usageMetadata()).thenReturn(Optional.of(GenerateContentResponseUsageMetadata.builder()
+                    .promptTokenCount(120)
+                    .candidatesTokenCount(8)
+                    .build()));
+            when(models.generateContent(anyString(), anyString(), any())).thenReturn(response);
+
+            return gemini.service(properties, meterRegistry);
+        }
+    }
+}
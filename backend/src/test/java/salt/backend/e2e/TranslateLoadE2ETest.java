@@ -0,0 +1,150 @@
+package salt.backend.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+import salt.backend.services.TranslationService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test of the translate path with a deliberately tiny Tomcat pool and a stubbed provider
+ * latency. The same burst is sent to a blocking copy of the old endpoint and to /api/translate,
+ * which shows how far concurrency scales once the request thread is no longer held. Tagged
+ * {@code load}: its timing assertions only run with {@code -Pbenchmark}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=4", "server.tomcat.threads.min-spare=4"})
+class TranslateLoadE2ETest {
+
+    private static final int CONCURRENT_REQUESTS = 32;
+    private static final long PROVIDER_LATENCY_MS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void translate_UnderLoad_ShouldScalePastTomcatThreadsAndKeepHealthResponsive() throws Exception {
+        // Warm up both paths so the comparison is not dominated by class loading and JIT
+        runBurst("/load-test/blocking-translate");
+        runBurst("/api/translate");
+
+        LoadResult blocking = runBurst("/load-test/blocking-translate");
+        LoadResult async = runBurst("/api/translate");
+
+        log.info("Load test ({} requests, {} ms provider latency, 4 Tomcat threads): "
+                        + "blocking total {} ms, health {} ms; async total {} ms, health {} ms",
+                CONCURRENT_REQUESTS, PROVIDER_LATENCY_MS,
+                blocking.totalMs(), blocking.healthMs(), async.totalMs(), async.healthMs());
+
+        // Blocking is serialized by the 4 Tomcat threads: ~32 / 4 * 200 ms
+        assertTrue(blocking.totalMs() >= CONCURRENT_REQUESTS / 4 * PROVIDER_LATENCY_MS, blocking.toString());
+        assertTrue(async.totalMs() * 2 < blocking.totalMs(), async + " vs " + blocking);
+        assertTrue(async.healthMs() * 2 < blocking.healthMs(), async + " vs " + blocking);
+    }
+
+    private LoadResult runBurst(String path) throws Exception {
+        String body = objectMapper.writeValueAsString(TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder().basics(ResumeDto.Basics.builder().name("Jane").build()).build())
+                .targetLanguage("es")
+                .build());
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().executor(clients).build();
+            HttpRequest translate = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/health")).build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(http.sendAsync(translate, HttpResponse.BodyHandlers.ofString()));
+            }
+            // Let the burst occupy the server before probing health
+            Thread.sleep(PROVIDER_LATENCY_MS / 4);
+            long healthStart = System.nanoTime();
+            assertEquals(200, http.send(health, HttpResponse.BodyHandlers.ofString()).statusCode());
+            long healthMs = (System.nanoTime() - healthStart) / 1_000_000;
+
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.join().statusCode());
+            }
+            return new LoadResult((System.nanoTime() - start) / 1_000_000, healthMs);
+        }
+    }
+
+    private record LoadResult(long totalMs, long healthMs) {
+    }
+
+    /**
+     * The translate endpoint as it was before it went asynchronous: the Tomcat thread waits for the provider.
+     */
+    @RestController
+    static class BlockingTranslateController {
+        private final TranslationService translationService;
+
+        BlockingTranslateController(TranslationService translationService) {
+            this.translationService = translationService;
+        }
+
+        @PostMapping(path = "/load-test/blocking-translate", consumes = MediaType.APPLICATION_JSON_VALUE)
+        ResumeDto translate(@RequestBody TranslationRequestDto request) throws Exception {
+            return translationService.translateResume(request);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowTranslationServiceConfig {
+        @Bean
+        @Primary
+        TranslationService translationService() throws Exception {
+            TranslationService mockService = mock(TranslationService.class);
+            when(mockService.translateResume(any(TranslationRequestDto.class))).thenAnswer(invocation -> {
+                Thread.sleep(PROVIDER_LATENCY_MS);
+                TranslationRequestDto request = invocation.getArgument(0);
+                return request.getResumeData();
+            });
+            return mockService;
+        }
+
+        @Bean
+        BlockingTranslateController blockingTranslateController(TranslationService translationService) {
+            return new BlockingTranslateController(translationService);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package salt.backend.services;
+
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.BatchTranslationRequestDto;
+import salt.backend.dto.BatchTranslationResponseDto;
+import salt.backend.dto.ResumeDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BatchTranslationTest {
+
+    private Models mockModels;
+    private TranslationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockGemini gemini = new MockGemini();
+        mockModels = gemini.models();
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getBatch().setMaxParallelism(3);
+        service = gemini.service(properties);
+    }
+
+    @Test
+    void translateBatch_ShouldTranslateLanguagesConcurrentlyAndReportFailuresSeparately() throws Exception {
+        CountDownLatch allCalled = new CountDownLatch(3);
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            String prompt = invocation.getArgument(1);
+            allCalled.countDown();
+            // Every language must be in flight at the same time for the latch to open
+            assertTrue(allCalled.await(5, TimeUnit.SECONDS));
+            if (prompt.contains(" to fr language")) {
+                throw new RuntimeException("quota exhausted");
+            }
+            String language = prompt.contains(" to es language") ? "es" : "de";
+            return reply("{\"1\":\"" + language + " Engineer\"}");
+        });
+
+        BatchTranslationResponseDto response = service.translateBatch(BatchTranslationRequestDto.builder()
+                .resumeData(resume())
+                .targetLanguages(List.of("es", "fr", "de"))
+                .build());
+
+        assertEquals(List.of("es", "de"), List.copyOf(response.getTranslations().keySet()));
+        assertEquals("es Engineer", response.getTranslations().get("es").getBasics().getLabel());
+        assertEquals("de Engineer", response.getTranslations().get("de").getBasics().getLabel());
+        assertEquals("Jane", response.getTranslations().get("de").getBasics().getName());
+        assertEquals(Map.of("fr", "Translation failed"), response.getErrors());
+    }
+
+    @Test
+    void translateBatch_ShouldServeRepeatedLanguagesFromTheCache() throws Exception {
+        when(mockModels.generateContent(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> reply("{\"1\":\"Ingeniera\"}"));
+        BatchTranslationRequestDto request = BatchTranslationRequestDto.builder()
+                .resumeData(resume())
+                .targetLanguages(List.of("es", " es "))
+                .build();
+
+        service.translateBatch(request);
+        BatchTranslationResponseDto response = service.translateBatch(request);
+
+        assertEquals("Ingeniera", response.getTranslations().get("es").getBasics().getLabel());
+        assertTrue(response.getErrors().isEmpty());
+        verify(mockModels, times(1)).generateContent(anyString(), anyString(), any());
+    }
+
+    private static ResumeDto resume() {
+        return ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("Jane").label("Engineer").build())
+                .build();
+    }
+
+    private static GenerateContentResponse reply(String text) {
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn(text);
+        return response;
+    }
+}
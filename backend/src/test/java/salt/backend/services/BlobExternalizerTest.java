@@ -0,0 +1,121 @@
+package salt.backend.services;
+
+import com.google.genai.types.GenerateContentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BlobExternalizerTest {
+
+    private static final String DATA_URL = "data:image/png;base64," + "iVBORw0KGgo".repeat(40);
+
+    private final BlobExternalizer externalizer = new BlobExternalizer(new TranslationProperties.Blobs());
+
+    @Test
+    void externalize_WhenWholeValueIsABlob_ShouldLeaveTheSegmentOut() {
+        BlobExternalizer.Externalized extracted = externalizer.externalize(List.of(
+                new ResumeSegments.Segment("/basics/label", "Engineer"),
+                new ResumeSegments.Segment("/projects/0/description", DATA_URL),
+                new ResumeSegments.Segment("/projects/1/description", "QUJD".repeat(100))));
+
+        assertEquals(List.of(new ResumeSegments.Segment("/basics/label", "Engineer")), extracted.segments());
+        assertEquals(DATA_URL.length() + 400, extracted.valueBytes());
+    }
+
+    @Test
+    void externalize_WhenValueIsLargerThanTheLimit_ShouldLeaveTheSegmentOut() {
+        TranslationProperties.Blobs settings = new TranslationProperties.Blobs();
+        settings.setMaxValueSize(DataSize.ofBytes(20));
+
+        BlobExternalizer.Externalized extracted = new BlobExternalizer(settings).externalize(List.of(
+                new ResumeSegments.Segment("/basics/label", "Engineer"),
+                new ResumeSegments.Segment("/basics/summary", "Leads the platform team and the on-call rotation")));
+
+        assertEquals(1, extracted.segments().size());
+        assertEquals("/basics/label", extracted.segments().get(0).path());
+    }
+
+    @Test
+    void externalize_ShouldReplaceInlineBlobsWithPlaceholdersAndReattachThem() {
+        String summary = "Logo: " + DATA_URL + " and badge " + DATA_URL;
+
+        BlobExternalizer.Externalized extracted = externalizer.externalize(List.of(
+                new ResumeSegments.Segment("/basics/summary", summary)));
+
+        assertEquals("Logo: [[blob:1]] and badge [[blob:2]]", extracted.segments().get(0).text());
+        assertEquals(2L * (DATA_URL.length() - "[[blob:1]]".length()), extracted.inlineBytes());
+        assertEquals("Logotipo: " + DATA_URL + " e insignia " + DATA_URL,
+                extracted.reattach("/basics/summary", "Logotipo: [[blob:1]] e insignia [[blob:2]]"));
+        assertEquals("Ingeniera", extracted.reattach("/basics/label", "Ingeniera"));
+    }
+
+    @Test
+    void reattach_WhenTranslationLostAPlaceholder_ShouldKeepTheSourceText() {
+        String summary = "Logo: " + DATA_URL;
+        BlobExternalizer.Externalized extracted = externalizer.externalize(List.of(
+                new ResumeSegments.Segment("/basics/summary", summary)));
+
+        assertEquals(summary, extracted.reattach("/basics/summary", "Logotipo:"));
+        assertEquals(summary, extracted.reattach("/basics/summary", "Logotipo: [[blob:7]]"));
+    }
+
+    @Test
+    void externalize_WhenDisabled_ShouldReturnSegmentsUnchanged() {
+        TranslationProperties.Blobs settings = new TranslationProperties.Blobs();
+        settings.setEnabled(false);
+        List<ResumeSegments.Segment> segments = List.of(new ResumeSegments.Segment("/basics/summary", DATA_URL));
+
+        assertSame(segments, new BlobExternalizer(settings).externalize(segments).segments());
+    }
+
+    @Test
+    void translateResume_ShouldSendPlaceholdersAndRecordBytesSaved() throws Exception {
+        MockGemini gemini = new MockGemini();
+        // Built before stubbing: reply() stubs a mock of its own
+        GenerateContentResponse reply = MockGemini.reply("{\"1\":\"Ingeniera\",\"2\":\"Ver [[blob:1]]\"}");
+        when(gemini.models().generateContent(anyString(), anyString(), any())).thenReturn(reply);
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TranslationService service = gemini.service(properties, registry);
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .label("Engineer")
+                        .image(DATA_URL)
+                        .summary("See " + DATA_URL)
+                        .build())
+                .work(List.of(ResumeDto.Work.builder().summary(DATA_URL).build()))
+                .build();
+
+        ResumeDto result = service.translateResume(TranslationRequestDto.builder()
+                .resumeData(resume)
+                .targetLanguage("es")
+                .build());
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(gemini.models()).generateContent(anyString(), prompt.capture(), any());
+        assertTrue(prompt.getValue().contains("{\"1\":\"Engineer\",\"2\":\"See [[blob:1]]\"}"));
+        assertFalse(prompt.getValue().contains("base64"));
+
+        assertEquals("Ingeniera", result.getBasics().getLabel());
+        assertEquals("Ver " + DATA_URL, result.getBasics().getSummary());
+        assertEquals(DATA_URL, result.getWork().get(0).getSummary());
+        assertEquals(DATA_URL, result.getBasics().getImage());
+        assertEquals(DATA_URL.length(), registry.get("translation.prompt.blobs.saved").tag("kind", "value").counter().count());
+        assertEquals(DATA_URL.length() - "[[blob:1]]".length(),
+                registry.get("translation.prompt.blobs.saved").tag("kind", "inline").counter().count());
+    }
+}
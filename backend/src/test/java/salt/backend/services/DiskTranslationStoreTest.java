@@ -0,0 +1,167 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import salt.backend.dto.ResumeDto;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskTranslationStoreTest {
+
+    private static final long MAX_BYTES = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void get_ShouldServeEntriesWrittenBeforeRestart() throws Exception {
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES)) {
+            store.put("a", bytes("first"));
+            store.put("b", bytes("Hola"));
+            store.put("a", bytes("Hej"));
+        }
+
+        try (DiskTranslationStore reopened = new DiskTranslationStore(directory, MAX_BYTES)) {
+            assertEquals("Hej", text(reopened.get("a", null).orElseThrow()));
+            assertEquals("Hola", text(reopened.get("b", null).orElseThrow()));
+            assertTrue(reopened.get("c", null).isEmpty());
+            assertEquals(2, reopened.stats().entries());
+        }
+    }
+
+    @Test
+    void open_ShouldDropTornRecordAtTheEndOfTheLog() throws Exception {
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES)) {
+            store.put("a", bytes("Hola"));
+        }
+        Path log = directory.resolve(DiskTranslationStore.FILE_NAME);
+        long intact = Files.size(log);
+        // Header of a record whose body never made it to disk
+        Files.write(log, new byte[]{0, 0, 0, 1, 0, 0, 0, 9, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (DiskTranslationStore reopened = new DiskTranslationStore(directory, MAX_BYTES)) {
+            assertEquals("Hola", text(reopened.get("a", null).orElseThrow()));
+            assertEquals(intact, Files.size(log));
+            reopened.put("b", bytes("Hej"));
+        }
+        try (DiskTranslationStore reopened = new DiskTranslationStore(directory, MAX_BYTES)) {
+            assertEquals("Hej", text(reopened.get("b", null).orElseThrow()));
+        }
+    }
+
+    @Test
+    void compact_ShouldKeepOnlyTheNewestRecordOfEachKey() throws Exception {
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES)) {
+            for (int i = 0; i < 50; i++) {
+                store.put("k", bytes("value " + i));
+            }
+            store.put("other", bytes("Hola"));
+            long before = store.stats().fileBytes();
+
+            store.compact();
+
+            DiskTranslationStore.Stats stats = store.stats();
+            assertEquals(stats.liveBytes(), stats.fileBytes());
+            assertTrue(stats.fileBytes() < before / 10);
+            assertEquals("value 49", text(store.get("k", null).orElseThrow()));
+            assertEquals("Hola", text(store.get("other", null).orElseThrow()));
+        }
+        try (DiskTranslationStore reopened = new DiskTranslationStore(directory, MAX_BYTES)) {
+            assertEquals("value 49", text(reopened.get("k", null).orElseThrow()));
+        }
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntriesWhenOverSizeCap() throws Exception {
+        byte[] value = new byte[1000];
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, 10_000)) {
+            for (int i = 0; i < 9; i++) {
+                store.put("k" + i, value);
+            }
+            store.get("k0", null);
+
+            store.put("k9", value);
+            store.awaitCompaction();
+
+            DiskTranslationStore.Stats stats = store.stats();
+            assertTrue(stats.fileBytes() <= 7_500, "file is " + stats.fileBytes() + " bytes");
+            assertTrue(stats.evictions() > 0);
+            assertTrue(store.get("k0", null).isPresent());
+            assertTrue(store.get("k9", null).isPresent());
+            assertTrue(store.get("k1", null).isEmpty());
+        }
+    }
+
+    @Test
+    void put_ShouldKeepWritesMadeWhileCompactingInTheBackground() throws Exception {
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, 10_000)) {
+            for (int i = 0; i < 200; i++) {
+                String key = "k" + (i % 5);
+                store.put(key, bytes(key + " value " + i + " " + "x".repeat(500)));
+                // Read right after the write, whether or not a compaction has swapped the file meanwhile
+                assertTrue(text(store.get(key, null).orElseThrow()).startsWith(key + " value " + i + " "));
+            }
+            store.awaitCompaction();
+
+            assertTrue(store.stats().compactions() > 0);
+            for (int i = 195; i < 200; i++) {
+                String key = "k" + (i % 5);
+                assertTrue(text(store.get(key, null).orElseThrow()).startsWith(key + " value " + i + " "));
+            }
+        }
+        try (DiskTranslationStore reopened = new DiskTranslationStore(directory, 10_000)) {
+            assertTrue(text(reopened.get("k4", null).orElseThrow()).startsWith("k4 value 199 "));
+        }
+    }
+
+    @Test
+    void get_ShouldIgnoreEntriesOlderThanMaxAge() throws Exception {
+        TranslationCacheTest.MutableClock clock = new TranslationCacheTest.MutableClock();
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES, clock)) {
+            store.put("k", bytes("Hola"));
+            clock.advance(Duration.ofMinutes(10));
+
+            assertTrue(store.get("k", Duration.ofMinutes(30)).isPresent());
+            assertTrue(store.get("k", Duration.ofMinutes(5)).isEmpty());
+        }
+    }
+
+    @Test
+    void caches_ShouldWarmFromDiskAfterRestart() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ResumeDto translated = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("Jane").label("Ingeniera").build())
+                .build();
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES)) {
+            new TranslationCache(10, Duration.ofHours(1), objectMapper, store).put("resume-key", translated);
+            new TranslationMemory(10, store, "gemini-2.5-flash").put("Engineer", "es", "Ingeniera");
+        }
+
+        try (DiskTranslationStore store = new DiskTranslationStore(directory, MAX_BYTES)) {
+            TranslationCache cache = new TranslationCache(10, Duration.ofHours(1), objectMapper, store);
+            TranslationMemory memory = new TranslationMemory(10, store, "gemini-2.5-flash");
+
+            assertEquals(translated, cache.get("resume-key").orElseThrow());
+            assertEquals("Ingeniera", memory.get(" Engineer ", "ES").orElseThrow());
+            assertEquals(1, cache.stats().diskHits());
+            assertEquals(1, memory.stats().diskHits());
+            // A different model does not reuse the segment
+            assertTrue(new TranslationMemory(10, store, "other-model").get("Engineer", "es").isEmpty());
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package salt.backend.services;
+
+import com.google.genai.Client;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GeminiClientPoolTest {
+
+    @Test
+    void client_ShouldBeCreatedOncePerKeyAndReused() {
+        List<String> created = new ArrayList<>();
+        GeminiClientPool pool = new GeminiClientPool(List.of("key-a", "key-b"), key -> {
+            created.add(key);
+            return mock(Client.class);
+        }, 3);
+
+        Client first = pool.client(0);
+        Client second = pool.client(0);
+        pool.client(1);
+
+        assertSame(first, second);
+        assertEquals(List.of("key-a", "key-b"), created);
+    }
+
+    @Test
+    void warmUp_ShouldCreateEveryClientUpFront() {
+        List<String> created = new ArrayList<>();
+        GeminiClientPool pool = new GeminiClientPool(List.of("key-a", "key-b", "key-c"), key -> {
+            created.add(key);
+            return mock(Client.class);
+        }, 3);
+
+        pool.warmUp();
+        pool.client(2);
+
+        assertEquals(3, created.size());
+    }
+
+    @Test
+    void recordFailure_ShouldMarkKeyUnhealthyUntilNextSuccess() {
+        GeminiClientPool pool = new GeminiClientPool(List.of("key-a", "key-b"), key -> mock(Client.class), 2);
+
+        pool.recordFailure(0, new RuntimeException("429"));
+        assertTrue(pool.isHealthy(0));
+        pool.recordFailure(0, new RuntimeException("429"));
+
+        assertFalse(pool.isHealthy(0));
+        assertEquals(1, pool.healthyCount());
+        assertEquals("429", pool.status().get(0).lastError());
+
+        pool.recordSuccess(0);
+        assertTrue(pool.isHealthy(0));
+    }
+
+    @Test
+    void close_ShouldCloseEveryCreatedClient() {
+        Client client = mock(Client.class);
+        GeminiClientPool pool = new GeminiClientPool(List.of("key-a"), key -> client, 3);
+        pool.client(0);
+
+        pool.close();
+
+        verify(client, times(1)).close();
+    }
+}
@@ -0,0 +1,153 @@
+package salt.backend.services;
+
+import com.google.genai.Client;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgedRequestTest {
+
+    private static final TranslationProvider.Request REQUEST =
+            new TranslationProvider.Request("prompt", "{\"1\":\"Engineer\"}", "es");
+
+    @Test
+    void hedgePolicy_ShouldWaitForSamplesAndUsePercentileWithFloor() {
+        HedgePolicy policy = new HedgePolicy(hedging(5, Duration.ofMillis(100), 10));
+
+        assertEquals(-1, policy.delayNanos());
+        for (int i = 1; i <= 20; i++) {
+            policy.recordLatency(Duration.ofMillis(i * 50L).toNanos());
+        }
+
+        // p95 of 50..1000 ms
+        assertEquals(Duration.ofMillis(950).toNanos(), policy.delayNanos());
+        HedgePolicy fast = new HedgePolicy(hedging(1, Duration.ofMillis(100), 10));
+        fast.recordLatency(Duration.ofMillis(5).toNanos());
+        assertEquals(Duration.ofMillis(100).toNanos(), fast.delayNanos());
+    }
+
+    @Test
+    void hedgePolicy_ShouldCapHedgesAtTheBudgetShareOfCalls() {
+        HedgePolicy policy = new HedgePolicy(hedging(1, Duration.ofMillis(100), 10));
+
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.refill();
+            if (policy.tryHedge()) {
+                hedges++;
+            }
+        }
+
+        assertEquals(10, hedges);
+    }
+
+    @Test
+    void translate_WhenFirstAttemptIsSlow_ShouldReturnTheHedgeAndCancelTheSlowAttempt() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch slowCancelled = new CountDownLatch(1);
+        Client client = client(() -> {
+            // Call 1 warms up the latency window, call 2 hangs, call 3 is the hedge
+            if (invocations.incrementAndGet() == 2) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    slowCancelled.countDown();
+                    throw e;
+                }
+            }
+        });
+        TranslationProperties properties = new TranslationProperties();
+        properties.getRateLimit().setEnabled(false);
+        properties.setHedging(hedging(1, Duration.ofMillis(50), 100));
+        properties.getHedging().setEnabled(true);
+        GeminiTranslationProvider provider = new GeminiTranslationProvider(List.of("key-a", "key-b"), key -> client,
+                properties, new TranslationMetrics(new SimpleMeterRegistry(), "test-model"));
+
+        try {
+            provider.translate(REQUEST);
+            long start = System.nanoTime();
+            String reply = provider.translate(REQUEST);
+
+            assertEquals("{\"1\":\"Ingeniero\"}", reply);
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+            assertTrue(slowCancelled.await(5, TimeUnit.SECONDS), "slow attempt should be interrupted");
+            assertEquals(3, invocations.get());
+            // The cancelled attempt does not count against the key
+            assertTrue(provider.keyStatus().stream().allMatch(key -> key.consecutiveFailures() == 0));
+        } finally {
+            provider.close();
+        }
+    }
+
+    @Test
+    void translate_WhenPrimaryFailsWhileHedging_ShouldNotFailOverToTheHedgedKey() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        Client client = client(() -> {
+            // Call 1 warms up the latency window, call 2 is the slow primary that then fails, call 3 the hedge
+            switch (invocations.incrementAndGet()) {
+                case 2 -> {
+                    Thread.sleep(200);
+                    throw new IllegalStateException("503 Service Unavailable");
+                }
+                case 3 -> Thread.sleep(400);
+                default -> { }
+            }
+        });
+        TranslationProperties properties = new TranslationProperties();
+        properties.getRateLimit().setEnabled(false);
+        properties.setHedging(hedging(1, Duration.ofMillis(50), 100));
+        properties.getHedging().setEnabled(true);
+        GeminiTranslationProvider provider = new GeminiTranslationProvider(List.of("key-a", "key-b"), key -> client,
+                properties, new TranslationMetrics(new SimpleMeterRegistry(), "test-model"));
+
+        try {
+            provider.translate(REQUEST);
+            String reply = provider.translate(REQUEST);
+
+            assertEquals("{\"1\":\"Ingeniero\"}", reply);
+            // The primary's failover skipped the key the hedge was already using
+            assertEquals(3, invocations.get());
+        } finally {
+            provider.close();
+        }
+    }
+
+    private static TranslationProperties.Hedging hedging(int minSamples, Duration minDelay, double budgetPercent) {
+        TranslationProperties.Hedging hedging = new TranslationProperties.Hedging();
+        hedging.setMinSamples(minSamples);
+        hedging.setMinDelay(minDelay);
+        hedging.setBudgetPercent(budgetPercent);
+        return hedging;
+    }
+
+    private static Client client(Delay delay) throws Exception {
+        Models models = mock(Models.class);
+        Client client = MockGemini.clientFor(models);
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn("{\"1\":\"Ingeniero\"}");
+        when(models.generateContent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            delay.await();
+            return response;
+        });
+        return client;
+    }
+
+    @FunctionalInterface
+    private interface Delay {
+        void await() throws Exception;
+    }
+}
@@ -0,0 +1,97 @@
+package salt.backend.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import salt.backend.config.ImageProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStoreTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3};
+    private static final byte[] JPEG = {(byte) 0xff, (byte) 0xd8, (byte) 0xff, (byte) 0xe0, 4, 5, 6};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void put_ShouldStoreIdenticalImagesOnceUnderTheirHash() throws Exception {
+        ImageStore store = new ImageStore(properties(DataSize.ofMegabytes(1)));
+
+        ImageStore.Image first = store.put(PNG);
+        ImageStore.Image second = store.put(PNG.clone());
+
+        assertEquals(ResumeFingerprint.sha256(PNG), first.hash());
+        assertEquals(first.hash(), second.hash());
+        assertEquals("image/png", first.contentType());
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void put_WhenBytesAreNotAnImage_ShouldReject() {
+        ImageStore store = new ImageStore(properties(DataSize.ofMegabytes(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> store.put("<svg/>".getBytes()));
+    }
+
+    @Test
+    void get_ShouldServeImagesStoredBeforeRestartAndEvictedFromMemory() throws Exception {
+        // Room for one image in memory only
+        ImageStore store = new ImageStore(properties(DataSize.ofBytes(PNG.length)));
+        String png = store.put(PNG).hash();
+        String jpeg = store.put(JPEG).hash();
+
+        assertArrayEquals(PNG, store.get(png).orElseThrow().content());
+        ImageStore reopened = new ImageStore(properties(DataSize.ofMegabytes(1)));
+        assertEquals("image/jpeg", reopened.get(jpeg).orElseThrow().contentType());
+        assertArrayEquals(JPEG, reopened.get(jpeg).orElseThrow().content());
+    }
+
+    @Test
+    void put_WhenDiskQuotaIsReached_ShouldRefuseNewImagesAndKeepStoredOnes() throws Exception {
+        ImageProperties properties = properties(DataSize.ofMegabytes(1));
+        properties.setMaxDiskSize(DataSize.ofBytes(PNG.length + JPEG.length));
+        ImageStore store = new ImageStore(properties);
+        String png = store.put(PNG).hash();
+        String jpeg = store.put(JPEG).hash();
+
+        assertThrows(ImageStore.StoreFullException.class, () -> store.put("GIF89a123".getBytes()));
+        // Already stored images can still be uploaded again, also after a restart
+        assertEquals(png, store.put(PNG).hash());
+        ImageStore reopened = new ImageStore(properties);
+        assertThrows(ImageStore.StoreFullException.class, () -> reopened.put("GIF89a123".getBytes()));
+        assertArrayEquals(JPEG, reopened.get(jpeg).orElseThrow().content());
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(2, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void get_WhenHashIsUnknownOrMalformed_ShouldReturnEmpty() {
+        ImageStore store = new ImageStore(properties(DataSize.ofMegabytes(1)));
+
+        assertTrue(store.get("0".repeat(64)).isEmpty());
+        assertTrue(store.get("../../etc/passwd").isEmpty());
+    }
+
+    @Test
+    void contentType_ShouldRecognizeGifAndWebp() {
+        assertEquals("image/gif", ImageStore.contentType("GIF89a...".getBytes()).orElseThrow());
+        assertEquals("image/webp", ImageStore.contentType("RIFF\0\0\0\0WEBPVP8 ".getBytes()).orElseThrow());
+        assertTrue(ImageStore.contentType(new byte[]{1}).isEmpty());
+    }
+
+    private ImageProperties properties(DataSize memoryCacheSize) {
+        ImageProperties properties = new ImageProperties();
+        properties.setDirectory(directory.toString());
+        properties.setMemoryCacheSize(memoryCacheSize);
+        return properties;
+    }
+}
@@ -0,0 +1,144 @@
+package salt.backend.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyRateLimiterTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquire_ShouldWaitForTokenBucketToRefill() throws Exception {
+        TranslationProperties.RateLimit settings = settings();
+        // 1000 tokens per second
+        settings.setTokensPerMinute(60_000);
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings);
+
+        limiter.acquire(0, 60_000).close();
+        long start = System.nanoTime();
+        limiter.acquire(0, 100).close();
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMs >= 80, "waited " + waitedMs + " ms");
+        assertTrue(limiter.stats().get(0).maxWaitMs() >= 80);
+    }
+
+    @Test
+    void acquire_ShouldCapCallsInFlightPerKeyAndServeWaitersInArrivalOrder() throws Exception {
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings());
+        KeyRateLimiter.Permit held = limiter.acquire(0, 1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> first = waitFor(limiter, "first", order);
+        waitUntil(() -> limiter.stats().get(0).queueDepth() == 1);
+        CompletableFuture<Void> second = waitFor(limiter, "second", order);
+        waitUntil(() -> limiter.stats().get(0).queueDepth() == 2);
+        assertEquals(1, limiter.stats().get(0).inFlight());
+        assertTrue(order.isEmpty());
+
+        held.close();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("first", "second"), order);
+        assertEquals(0, limiter.stats().get(0).inFlight());
+    }
+
+    @Test
+    void acquire_ShouldRejectWhenQueueIsFull() throws Exception {
+        TranslationProperties.RateLimit settings = settings();
+        settings.setMaxQueuedPerKey(0);
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings);
+        KeyRateLimiter.Permit held = limiter.acquire(0, 1);
+        CompletableFuture<Void> waiting = waitFor(limiter, "waiting", new CopyOnWriteArrayList<>());
+        waitUntil(() -> limiter.stats().get(0).queueDepth() == 1);
+
+        assertThrows(RejectedExecutionException.class, () -> limiter.acquire(0, 1));
+
+        assertEquals(1, limiter.stats().get(0).rejections());
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void acquire_ShouldRejectWhenNoCapacityWithinMaxWait() throws Exception {
+        TranslationProperties.RateLimit settings = settings();
+        settings.setMaxWait(Duration.ofMillis(50));
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings);
+        limiter.acquire(0, 1);
+
+        assertThrows(RejectedExecutionException.class, () -> limiter.acquire(0, 1));
+        assertEquals(0, limiter.stats().get(0).queueDepth());
+    }
+
+    @Test
+    void acquire_ShouldWaitNoLongerThanTheRequestDeadline() throws Exception {
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings());
+        limiter.acquire(0, 1);
+
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> RequestDeadline.after(Duration.ofMillis(100))
+                .call(() -> limiter.acquire(0, 1)));
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMs < 2_000, "waited " + waitedMs + " ms");
+        assertEquals(0, limiter.stats().get(0).queueDepth());
+    }
+
+    @Test
+    void acquire_WhenRequestDeadlineHasPassed_ShouldFailEvenWithCapacity() throws Exception {
+        KeyRateLimiter limiter = new KeyRateLimiter(1, settings());
+
+        assertThrows(TimeoutException.class, () -> RequestDeadline.after(Duration.ofMillis(20)).call(() -> {
+            // The budget runs out before the call asks for a permit
+            Thread.sleep(50);
+            return limiter.acquire(0, 1);
+        }));
+        assertEquals(0, limiter.stats().get(0).acquired());
+        assertEquals(0, limiter.stats().get(0).rejections());
+    }
+
+    private CompletableFuture<Void> waitFor(KeyRateLimiter limiter, String name, List<String> order) {
+        return CompletableFuture.runAsync(() -> {
+            try (KeyRateLimiter.Permit permit = limiter.acquire(0, 1)) {
+                order.add(name);
+            } catch (InterruptedException | TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+    }
+
+    private static TranslationProperties.RateLimit settings() {
+        TranslationProperties.RateLimit settings = new TranslationProperties.RateLimit();
+        settings.setMaxInFlightPerKey(1);
+        settings.setMaxWait(Duration.ofSeconds(5));
+        return settings;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package salt.backend.services;
+
+import com.google.genai.errors.ClientException;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeySchedulerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void order_ShouldSkipRateLimitedKeyUntilCooldownEnds() {
+        KeyScheduler scheduler = scheduler(3);
+
+        scheduler.recordFailure(1, new ClientException(429, "RESOURCE_EXHAUSTED", "Quota exceeded"));
+
+        assertEquals(KeyScheduler.State.COOLDOWN, scheduler.state(1));
+        for (int i = 0; i < 6; i++) {
+            assertArrayEquals(new int[] {0, 2}, sorted(scheduler.order()));
+        }
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertEquals(KeyScheduler.State.HEALTHY, scheduler.state(1));
+        assertEquals(3, scheduler.order().length);
+    }
+
+    @Test
+    void order_ShouldOpenCircuitAfterRepeatedErrorsAndCloseItOnSuccess() {
+        KeyScheduler scheduler = scheduler(2);
+
+        scheduler.recordFailure(0, new RuntimeException("boom"));
+        scheduler.recordFailure(0, new RuntimeException("boom"));
+        assertEquals(KeyScheduler.State.HEALTHY, scheduler.state(0));
+        scheduler.recordFailure(0, new RuntimeException("boom"));
+
+        assertEquals(KeyScheduler.State.CIRCUIT_OPEN, scheduler.state(0));
+        assertArrayEquals(new int[] {1}, scheduler.order());
+
+        // Half-open after the open period: one success closes the circuit again
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        scheduler.recordSuccess(0, 1_000_000);
+        assertEquals(KeyScheduler.State.HEALTHY, scheduler.state(0));
+        assertEquals(0, scheduler.status().get(0).consecutiveFailures());
+    }
+
+    @Test
+    void order_WhenEveryKeyIsBlocked_ShouldProbeTheKeyThatRecoversFirst() {
+        KeyScheduler scheduler = scheduler(2);
+        scheduler.recordFailure(0, new ClientException(429, "RESOURCE_EXHAUSTED", "Quota exceeded"));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        scheduler.recordFailure(1, new ClientException(429, "RESOURCE_EXHAUSTED", "Quota exceeded"));
+
+        assertArrayEquals(new int[] {0}, scheduler.order());
+    }
+
+    @Test
+    void order_ShouldPreferTheFasterKey() {
+        KeyScheduler scheduler = scheduler(2);
+        scheduler.recordSuccess(0, Duration.ofMillis(900).toNanos());
+        scheduler.recordSuccess(1, Duration.ofMillis(100).toNanos());
+
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(new int[] {1, 0}, scheduler.order());
+        }
+        assertEquals(900, scheduler.status().get(0).latencyMs(), 0.001);
+    }
+
+    @Test
+    void order_ShouldStayValidWhenTheRotationCounterOverflows() throws Exception {
+        KeyScheduler scheduler = scheduler(3);
+        Field cursorField = KeyScheduler.class.getDeclaredField("cursor");
+        cursorField.setAccessible(true);
+        ((AtomicInteger) cursorField.get(scheduler)).set(Integer.MAX_VALUE - 1);
+
+        for (int i = 0; i < 10; i++) {
+            int[] order = scheduler.order();
+            assertArrayEquals(new int[] {0, 1, 2}, sorted(order));
+        }
+    }
+
+    private KeyScheduler scheduler(int keys) {
+        TranslationProperties.Scheduler settings = new TranslationProperties.Scheduler();
+        settings.setCircuitOpenAfterFailures(3);
+        return new KeyScheduler(keys, settings, now::get);
+    }
+
+    private static int[] sorted(int[] order) {
+        int[] copy = order.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
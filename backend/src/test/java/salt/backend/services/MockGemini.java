@@ -0,0 +1,75 @@
+package salt.backend.services;
+
+import com.google.genai.Client;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import salt.backend.config.TranslationProperties;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared test fixture: a Gemini client whose {@link Models} is a Mockito mock, and a
+ * {@link TranslationService} wired to it with a dummy API key.
+ */
+public final class MockGemini {
+
+    private final Models models = mock(Models.class);
+    private final Client client = clientFor(models);
+
+    public Models models() {
+        return models;
+    }
+
+    public Client client() {
+        return client;
+    }
+
+    public TranslationService service(TranslationProperties properties) {
+        return service(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * A service whose every pooled client is {@link #client()}.
+     */
+    public TranslationService service(TranslationProperties properties, MeterRegistry registry) {
+        if (properties.getGemini().getApiKeys().isEmpty()) {
+            properties.getGemini().setApiKeys(List.of("dummy-key"));
+        }
+        return new TranslationService(properties, registry) {
+            @Override
+            protected Client createClient(String apiKey) {
+                return client;
+            }
+        };
+    }
+
+    /**
+     * A response whose text is {@code text}.
+     */
+    public static GenerateContentResponse reply(String text) {
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn(text);
+        return response;
+    }
+
+    /**
+     * A mocked client that serves {@code models}; the SDK exposes it as a final field.
+     */
+    public static Client clientFor(Models models) {
+        Client client = mock(Client.class);
+        try {
+            Field modelsField = Client.class.getDeclaredField("models");
+            modelsField.setAccessible(true);
+            modelsField.set(client, models);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject mocked Gemini models", e);
+        }
+        return client;
+    }
+}
@@ -0,0 +1,102 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PromptPayloadTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_ShouldNormalizeWhitespaceAndSendRepeatedTextsOnce() throws Exception {
+        List<ResumeSegments.Segment> segments = List.of(
+                new ResumeSegments.Segment("/skills/0/keywords/0", "Team   lead"),
+                new ResumeSegments.Segment("/skills/1/keywords/0", "  Team lead\n"),
+                new ResumeSegments.Segment("/skills/1/keywords/1", "Java"));
+
+        assertEquals("{\"1\":\"Team lead\",\"2\":\"Java\"}", SegmentProtocol.encode(segments, objectMapper));
+
+        Map<String, String> decoded = SegmentProtocol.decode("{\"1\":\"Jefe de equipo\",\"2\":\"Java\"}", segments, objectMapper);
+        assertEquals(Map.of("/skills/0/keywords/0", "Jefe de equipo",
+                "/skills/1/keywords/0", "  Jefe de equipo\n",
+                "/skills/1/keywords/1", "Java"), decoded);
+    }
+
+    @Test
+    void tree_ShouldKeepOnlyPendingTextAndRenumberArrays() throws Exception {
+        JsonNode source = objectMapper.readTree("""
+                {"basics":{"name":"Jane","email":"jane@example.com","label":"Engineer","summary":null},
+                 "work":[{"name":"Acme","startDate":"2020-01-01"},
+                         {"name":"Globex","position":"Engineer","highlights":["", "Shipped it"]}]}
+                """);
+        PromptPayload payload = PromptPayload.of(ResumeSegments.extract(source));
+
+        PromptPayload.Tree tree = payload.tree(source, objectMapper);
+
+        assertEquals("{\"basics\":{\"label\":\"Engineer\"},\"work\":[{\"highlights\":[\"Shipped it\"]}]}",
+                objectMapper.writeValueAsString(tree.root()));
+        assertEquals(List.of("/basics/label", "/work/0/highlights/0"), tree.paths());
+
+        JsonNode reply = objectMapper.readTree("{\"basics\":{\"label\":\"Ingeniera\"},\"work\":[{\"highlights\":[\"Lo entregó\"]}]}");
+        assertEquals(Map.of("/basics/label", "Ingeniera", "/work/1/position", "Ingeniera",
+                "/work/1/highlights/1", "Lo entregó"), payload.restore(reply, tree.paths()));
+    }
+
+    @Test
+    void translateResume_WithJsonFormat_ShouldSendCompactPayloadAndRestoreEverything() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn("{\"basics\":{\"label\":\"Ingeniera\",\"summary\":\"Lidera el equipo\"}}");
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(response);
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.setPromptFormat(TranslationProperties.PromptFormat.JSON);
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        TranslationService service = gemini.service(properties);
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .name("Jane")
+                        .label("Engineer")
+                        .email("jane@example.com")
+                        .url("https://jane.dev")
+                        .image("data:image/png;base64,iVBORw0KGgo=")
+                        .summary("Leads the team")
+                        .build())
+                .work(List.of(ResumeDto.Work.builder().name("Acme").position("Engineer").build()))
+                .build();
+
+        ResumeDto result = service.translateResume(TranslationRequestDto.builder()
+                .resumeData(resume)
+                .targetLanguage("es")
+                .build());
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(mockModels).generateContent(anyString(), prompt.capture(), any());
+        assertTrue(prompt.getValue().contains("{\"basics\":{\"label\":\"Engineer\",\"summary\":\"Leads the team\"}}"));
+        assertFalse(prompt.getValue().contains("jane@example.com"));
+        assertFalse(prompt.getValue().contains("base64"));
+
+        assertEquals("Ingeniera", result.getBasics().getLabel());
+        assertEquals("Lidera el equipo", result.getBasics().getSummary());
+        assertEquals("Ingeniera", result.getWork().get(0).getPosition());
+        assertEquals("jane@example.com", result.getBasics().getEmail());
+        assertEquals("data:image/png;base64,iVBORw0KGgo=", result.getBasics().getImage());
+    }
+}
@@ -0,0 +1,152 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderChainTest {
+
+    private static final TranslationProvider.Request REQUEST =
+            new TranslationProvider.Request("prompt", "{\"1\":\"Engineer\",\"2\":\"Runs things\"}", "es");
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void translate_WhenFirstProviderFails_ShouldFallOverToTheNext() throws Exception {
+        ProviderChain chain = chain(failing("gemini"), answering("backup", "{\"1\":\"Ingeniero\"}"));
+
+        ProviderChain.Reply reply = chain.translate(REQUEST);
+
+        assertEquals("{\"1\":\"Ingeniero\"}", reply.text());
+        assertEquals("backup", reply.provider().name());
+        assertEquals(List.of("gemini", "backup"), calls);
+    }
+
+    @Test
+    void translate_WhenEveryProviderFails_ShouldRethrowTheLastFailure() {
+        ProviderChain chain = chain(failing("gemini"), failing("backup"));
+
+        Exception error = assertThrows(IllegalStateException.class, () -> chain.translate(REQUEST));
+        assertEquals("backup down", error.getMessage());
+    }
+
+    @Test
+    void translate_WhenProviderKeepsFailing_ShouldDemoteItUntilTheDemotionEnds() throws Exception {
+        ProviderChain chain = chain(failing("gemini"), answering("backup", "{}"));
+
+        // Error-rate EWMA: 0.2, 0.36, 0.49, 0.59 - demoted after the fourth failure
+        for (int i = 0; i < 4; i++) {
+            chain.translate(REQUEST);
+        }
+        assertTrue(chain.status().get(0).demoted());
+        calls.clear();
+
+        chain.translate(REQUEST);
+        assertEquals(List.of("backup"), calls);
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        calls.clear();
+        chain.translate(REQUEST);
+        assertEquals(List.of("gemini", "backup"), calls);
+    }
+
+    @Test
+    void translate_WhenProviderIsSlow_ShouldDemoteItBehindTheOthers() throws Exception {
+        TranslationProvider slow = provider("gemini", () -> {
+            now.addAndGet(Duration.ofSeconds(45).toNanos());
+            return "{}";
+        });
+        ProviderChain chain = chain(slow, answering("backup", "{}"));
+
+        assertEquals("gemini", chain.translate(REQUEST).provider().name());
+        calls.clear();
+
+        assertEquals("backup", chain.translate(REQUEST).provider().name());
+        assertEquals(List.of("backup"), calls);
+    }
+
+    @Test
+    void translateStream_WhenFailureAfterCommit_ShouldNotFallOver() {
+        TranslationProvider streaming = provider("gemini", () -> {
+            throw new IllegalStateException("stream broke");
+        });
+        ProviderChain chain = chain(streaming, answering("backup", "{}"));
+
+        TranslationProvider.StreamSink committedSink = new TranslationProvider.StreamSink() {
+            @Override
+            public void begin() {
+            }
+
+            @Override
+            public void accept(String chunk) {
+            }
+
+            @Override
+            public boolean committed() {
+                return true;
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> chain.translateStream(REQUEST, committedSink));
+        assertEquals(List.of("gemini"), calls);
+    }
+
+    @Test
+    void localProvider_ShouldEchoPayloadOrApplyDictionary() throws Exception {
+        TranslationProperties.Local settings = new TranslationProperties.Local();
+        LocalTranslationProvider local = new LocalTranslationProvider(settings, new ObjectMapper());
+
+        assertEquals(REQUEST.payload(), local.translate(REQUEST));
+        assertFalse(local.cacheable());
+
+        settings.setMode(TranslationProperties.LocalMode.DICTIONARY);
+        settings.setDictionary(Map.of("es", Map.of("Engineer", "Ingeniero")));
+        assertEquals("{\"1\":\"Ingeniero\",\"2\":\"Runs things\"}", local.translate(REQUEST));
+    }
+
+    private ProviderChain chain(TranslationProvider... providers) {
+        return new ProviderChain(List.of(providers), new TranslationProperties.Providers(),
+                new TranslationMetrics(new SimpleMeterRegistry(), "test-model"), now::get);
+    }
+
+    private TranslationProvider failing(String name) {
+        return provider(name, () -> {
+            throw new IllegalStateException(name + " down");
+        });
+    }
+
+    private TranslationProvider answering(String name, String reply) {
+        return provider(name, () -> reply);
+    }
+
+    private TranslationProvider provider(String name, Callable<String> reply) {
+        return new TranslationProvider() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String model() {
+                return name + "-model";
+            }
+
+            @Override
+            public String translate(Request request) throws Exception {
+                calls.add(name);
+                return reply.call();
+            }
+        };
+    }
+}
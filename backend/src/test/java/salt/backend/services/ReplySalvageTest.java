@@ -0,0 +1,104 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplySalvageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ResumeSegments.Segment> segments = List.of(
+            new ResumeSegments.Segment("/basics/label", "Engineer"),
+            new ResumeSegments.Segment("/basics/summary", "Leads the \"core\" team"),
+            new ResumeSegments.Segment("/work/0/position", "Developer")
+    );
+
+    @Test
+    void salvage_ShouldAcceptTrailingCommasAndRawLineBreaks() {
+        String reply = "```json\n{\"1\":\"Ingeniera\",\"2\":\"Lidera el\nequipo\",\"3\":\"Desarrolladora\",}\n```";
+
+        Map<String, String> salvaged = SegmentProtocol.salvage(reply, segments, objectMapper);
+
+        assertEquals(Map.of("/basics/label", "Ingeniera", "/basics/summary", "Lidera el\nequipo",
+                "/work/0/position", "Desarrolladora"), salvaged);
+    }
+
+    @Test
+    void salvage_ShouldEscapeQuotesThatDoNotEndTheString() {
+        String reply = "{\"1\":\"Ingeniera\",\"2\":\"Lidera el equipo \"core\" de la empresa\"}";
+
+        Map<String, String> salvaged = SegmentProtocol.salvage(reply, segments, objectMapper);
+
+        assertEquals("Lidera el equipo \"core\" de la empresa", salvaged.get("/basics/summary"));
+        assertEquals(2, salvaged.size());
+    }
+
+    @Test
+    void salvage_WhenReplyIsTruncated_ShouldKeepOnlyCompleteSegments() {
+        String reply = "```json\n{\"1\":\"Ingeniera\",\"2\":\"Lidera el equipo\",\"3\":\"Desarroll";
+
+        Map<String, String> salvaged = SegmentProtocol.salvage(reply, segments, objectMapper);
+
+        assertEquals(Map.of("/basics/label", "Ingeniera", "/basics/summary", "Lidera el equipo"), salvaged);
+    }
+
+    @Test
+    void members_ShouldKeepIntactSectionsOfAResumeShapedReply() {
+        String reply = "{\"basics\":{\"label\":\"Ingeniera\"},\"work\":[{\"position\":\"Desarr";
+
+        Map<String, String> salvaged = SegmentProtocol.salvage(reply, segments, objectMapper);
+
+        assertEquals(Map.of("/basics/label", "Ingeniera"), salvaged);
+    }
+
+    @Test
+    void translateResume_WhenReplyIsTruncated_ShouldRequestOnlyTheLostSegmentsAgain() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+        GenerateContentResponse truncated = mock(GenerateContentResponse.class);
+        when(truncated.text()).thenReturn("{\"1\":\"Ingeniera\",\"2\":\"Lidera el equipo\",\"3\":\"Desarr");
+        GenerateContentResponse followUp = mock(GenerateContentResponse.class);
+        when(followUp.text()).thenReturn("{\"1\":\"Desarrolladora\"}");
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(truncated, followUp);
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        TranslationService service = gemini.service(properties);
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .label("Engineer")
+                        .summary("Leads the team")
+                        .build())
+                .work(List.of(ResumeDto.Work.builder().position("Developer").build()))
+                .build();
+
+        ResumeDto result = service.translateResume(TranslationRequestDto.builder()
+                .resumeData(resume)
+                .targetLanguage("es")
+                .build());
+
+        ArgumentCaptor<String> prompts = ArgumentCaptor.forClass(String.class);
+        verify(mockModels, times(2)).generateContent(anyString(), prompts.capture(), any());
+        assertTrue(prompts.getAllValues().get(1).contains("{\"1\":\"Developer\"}"));
+        assertFalse(prompts.getAllValues().get(1).contains("Engineer"));
+
+        assertEquals("Ingeniera", result.getBasics().getLabel());
+        assertEquals("Lidera el equipo", result.getBasics().getSummary());
+        assertEquals("Desarrolladora", result.getWork().get(0).getPosition());
+    }
+}
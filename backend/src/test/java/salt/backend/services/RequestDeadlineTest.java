@@ -0,0 +1,106 @@
+package salt.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    private static final TranslationProvider.Request REQUEST =
+            new TranslationProvider.Request("prompt", "{\"1\":\"Engineer\"}", "es");
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void current_OutsideACall_ShouldNeverExpire() {
+        RequestDeadline deadline = RequestDeadline.current();
+
+        assertSame(RequestDeadline.none(), deadline);
+        assertFalse(deadline.isDone());
+        assertDoesNotThrow(deadline::check);
+    }
+
+    @Test
+    void call_WhenDeadlinePassesDuringAnAttempt_ShouldNotStartAnotherAttempt() {
+        ProviderChain chain = new ProviderChain(List.of(slowFailing("gemini"), answering("backup")),
+                new TranslationProperties.Providers(),
+                new TranslationMetrics(new SimpleMeterRegistry(), "test-model"), System::nanoTime);
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(50));
+
+        TimeoutException error = assertThrows(TimeoutException.class, () -> deadline.call(() -> chain.translate(REQUEST)));
+
+        assertEquals("gemini down", error.getCause().getMessage());
+        assertEquals(List.of("gemini"), calls);
+        // An abandoned request does not count against the provider
+        assertEquals(0.0, chain.status().get(0).errorRate());
+    }
+
+    @Test
+    void cancel_ShouldInterruptTheRunningTranslation() throws Exception {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> translation = executor.submit(() -> deadline.call(() -> {
+                started.countDown();
+                Thread.sleep(10_000);
+                return "translated";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            deadline.cancel();
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> translation.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, error.getCause());
+            assertInstanceOf(InterruptedException.class, error.getCause().getCause());
+        }
+        assertTrue(deadline.isCancelled());
+        assertThrows(CancellationException.class, deadline::check);
+    }
+
+    private TranslationProvider slowFailing(String name) {
+        return provider(name, () -> {
+            Thread.sleep(100);
+            throw new IllegalStateException(name + " down");
+        });
+    }
+
+    private TranslationProvider answering(String name) {
+        return provider(name, () -> "{}");
+    }
+
+    private TranslationProvider provider(String name, Callable<String> reply) {
+        return new TranslationProvider() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String model() {
+                return name + "-model";
+            }
+
+            @Override
+            public String translate(Request request) throws Exception {
+                calls.add(name);
+                return reply.call();
+            }
+        };
+    }
+}
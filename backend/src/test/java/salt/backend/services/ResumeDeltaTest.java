@@ -0,0 +1,143 @@
+package salt.backend.services;
+
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.DeltaTranslationRequestDto;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ResumeDeltaTest {
+
+    private Models mockModels;
+    private TranslationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockGemini gemini = new MockGemini();
+        mockModels = gemini.models();
+
+        // Memory and cache off: everything reused must come from the previous translation
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        service = gemini.service(properties);
+    }
+
+    @Test
+    void translateDelta_ShouldOnlySendEditedHighlight() throws Exception {
+        ResumeDto previousSource = resume("Senior Developer", List.of("Built the API", "Mentored juniors"));
+        ResumeDto previousTranslation = resume("Desarrollador Senior", List.of("Construyó la API", "Mentoreó juniors"));
+        ResumeDto edited = resume("Senior Developer", List.of("Built the public API", "Mentored juniors"));
+
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn("""
+                {"1":"Construyó la API pública"}
+                """);
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(response);
+
+        ResumeDto result = service.translateDelta(DeltaTranslationRequestDto.builder()
+                .previousResumeData(previousSource)
+                .previousTranslation(previousTranslation)
+                .resumeData(edited)
+                .targetLanguage("es")
+                .build());
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(mockModels).generateContent(anyString(), prompt.capture(), any());
+        assertTrue(prompt.getValue().contains("Built the public API"));
+        assertFalse(prompt.getValue().contains("Mentored juniors"));
+        assertFalse(prompt.getValue().contains("Senior Developer"));
+
+        ResumeDto.Work work = result.getWork().get(0);
+        assertEquals("Desarrollador Senior", work.getPosition());
+        assertEquals(List.of("Construyó la API pública", "Mentoreó juniors"), work.getHighlights());
+        assertEquals("Acme", work.getName());
+    }
+
+    @Test
+    void carryOver_ShouldFollowMovedListItems() throws Exception {
+        ResumeDto previousSource = resume("Developer", List.of("First", "Second"));
+        ResumeDto previousTranslation = resume("Desarrollador", List.of("Primero", "Segundo"));
+        ResumeDto reordered = resume("Developer", List.of("Second", "First"));
+
+        ResumeDto result = service.translateDelta(DeltaTranslationRequestDto.builder()
+                .previousResumeData(previousSource)
+                .previousTranslation(previousTranslation)
+                .resumeData(reordered)
+                .targetLanguage("es")
+                .build());
+
+        verifyNoInteractions(mockModels);
+        assertEquals(List.of("Segundo", "Primero"), result.getWork().get(0).getHighlights());
+    }
+
+    @Test
+    void carryOver_ShouldMatchTextWithInlineDataUrls() throws Exception {
+        String image = "data:image/png;base64," + "iVBORw0KGgo".repeat(40);
+        ResumeDto previousSource = resume("Developer", List.of("Drew " + image + " by hand"));
+        ResumeDto previousTranslation = resume("Desarrollador", List.of("Dibujó " + image + " a mano"));
+        ResumeDto edited = resume("Developer", List.of("Drew " + image + " by hand"));
+
+        ResumeDto result = service.translateDelta(DeltaTranslationRequestDto.builder()
+                .previousResumeData(previousSource)
+                .previousTranslation(previousTranslation)
+                .resumeData(edited)
+                .targetLanguage("es")
+                .build());
+
+        verifyNoInteractions(mockModels);
+        assertEquals(List.of("Dibujó " + image + " a mano"), result.getWork().get(0).getHighlights());
+    }
+
+    @Test
+    void translateDelta_ShouldNotCacheTheResultForFullTranslations() throws Exception {
+        MockGemini gemini = new MockGemini();
+        TranslationProperties properties = new TranslationProperties();
+        properties.getMemory().setEnabled(false);
+        TranslationService cachingService = gemini.service(properties);
+        ResumeDto previousSource = resume("Developer", List.of("Built the API"));
+        ResumeDto previousTranslation = resume("Programador", List.of("Construyó la API"));
+        ResumeDto edited = resume("Developer", List.of("Built the public API"));
+        // Built before stubbing: reply() stubs a mock of its own
+        GenerateContentResponse deltaReply = MockGemini.reply("{\"1\":\"Construyó la API pública\"}");
+        GenerateContentResponse fullReply = MockGemini.reply("{\"1\":\"Desarrollador\",\"2\":\"Construyó la API pública\"}");
+        when(gemini.models().generateContent(anyString(), anyString(), any())).thenReturn(deltaReply, fullReply);
+
+        cachingService.translateDelta(DeltaTranslationRequestDto.builder()
+                .previousResumeData(previousSource)
+                .previousTranslation(previousTranslation)
+                .resumeData(edited)
+                .targetLanguage("es")
+                .build());
+        ResumeDto full = cachingService.translateResume(TranslationRequestDto.builder()
+                .resumeData(edited)
+                .targetLanguage("es")
+                .build());
+
+        // The carried "Programador" came from the caller, so the full translation asks the provider again
+        verify(gemini.models(), times(2)).generateContent(anyString(), anyString(), any());
+        assertEquals("Desarrollador", full.getWork().get(0).getPosition());
+    }
+
+    private static ResumeDto resume(String position, List<String> highlights) {
+        return ResumeDto.builder()
+                .work(List.of(ResumeDto.Work.builder()
+                        .name("Acme")
+                        .position(position)
+                        .startDate("2020-01")
+                        .highlights(highlights)
+                        .build()))
+                .build();
+    }
+}
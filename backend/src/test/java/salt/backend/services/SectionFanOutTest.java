@@ -0,0 +1,151 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SectionFanOutTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void split_ShouldGroupBySectionAndChunkLargeSections() {
+        List<ResumeSegments.Segment> pending = List.of(
+                new ResumeSegments.Segment("/basics/label", "a"),
+                new ResumeSegments.Segment("/work/0/summary", "b"),
+                new ResumeSegments.Segment("/work/0/highlights/0", "c"),
+                new ResumeSegments.Segment("/work/1/summary", "d"),
+                new ResumeSegments.Segment("/skills/0/name", "e")
+        );
+
+        List<List<ResumeSegments.Segment>> units = SectionFanOut.split(pending, 2);
+
+        assertEquals(List.of(
+                List.of(pending.get(0)),
+                List.of(pending.get(1), pending.get(2)),
+                List.of(pending.get(3)),
+                List.of(pending.get(4))
+        ), units);
+    }
+
+    @Test
+    void invokeAll_ShouldRunUnitsConcurrentlyAndKeepOrder() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        List<Callable<String>> tasks = List.of(
+                awaitingTask(allStarted, "first"),
+                awaitingTask(allStarted, "second"),
+                awaitingTask(allStarted, "third")
+        );
+
+        assertEquals(List.of("first", "second", "third"), SectionFanOut.invokeAll(tasks, 3));
+    }
+
+    @Test
+    void invokeAll_ShouldCancelSiblingsOnFirstFailure() {
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        List<Callable<String>> tasks = List.of(
+                () -> {
+                    siblingStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.set(true);
+                        throw e;
+                    }
+                    return "never";
+                },
+                () -> {
+                    siblingStarted.await();
+                    throw new IllegalStateException("quota exhausted");
+                }
+        );
+
+        long start = System.nanoTime();
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> SectionFanOut.invokeAll(tasks, 2));
+
+        assertEquals("quota exhausted", error.getMessage());
+        assertTrue(siblingInterrupted.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void translateResume_ShouldFanOutLongResumesAndReassembleInOrder() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+        AtomicInteger calls = new AtomicInteger();
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            return echo(invocation.getArgument(1));
+        });
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        properties.getFanOut().setEnabled(true);
+        properties.getFanOut().setMinSegments(3);
+        properties.getFanOut().setMaxSegmentsPerUnit(2);
+        TranslationService service = gemini.service(properties);
+
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().label("Engineer").build())
+                .work(List.of(ResumeDto.Work.builder()
+                        .position("Lead")
+                        .highlights(List.of("One", "Two", "Three"))
+                        .build()))
+                .build();
+
+        ResumeDto result = service.translateResume(TranslationRequestDto.builder()
+                .resumeData(resume)
+                .targetLanguage("es")
+                .build());
+
+        assertEquals(3, calls.get());
+        assertEquals("ES Engineer", result.getBasics().getLabel());
+        assertEquals("ES Lead", result.getWork().get(0).getPosition());
+        assertEquals(List.of("ES One", "ES Two", "ES Three"), result.getWork().get(0).getHighlights());
+    }
+
+    private GenerateContentResponse echo(String prompt) throws Exception {
+        String segmentsJson = prompt.substring(prompt.indexOf("Segments to translate:") + "Segments to translate:".length());
+        JsonNode segments = objectMapper.readTree(segmentsJson);
+        ObjectNode reply = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = segments.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            reply.put(field.getKey(), "ES " + field.getValue().asText());
+        }
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn(reply.toString());
+        return response;
+    }
+
+    private static Callable<String> awaitingTask(CountDownLatch allStarted, String result) {
+        return () -> {
+            allStarted.countDown();
+            // Only succeeds if every unit is running at the same time
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            return result;
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SegmentProtocolTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ResumeSegments.Segment> segments = List.of(
+            new ResumeSegments.Segment("/basics/label", "Engineer"),
+            new ResumeSegments.Segment("/work/0/highlights/0", "Line one\nLine \"two\"")
+    );
+
+    @Test
+    void encode_ShouldNumberSegmentsInOrder() throws Exception {
+        assertEquals("{\"1\":\"Engineer\",\"2\":\"Line one\\nLine \\\"two\\\"\"}",
+                SegmentProtocol.encode(segments, objectMapper));
+    }
+
+    @Test
+    void decode_ShouldMapNumberedRepliesToPathsAndSkipMissingOnes() throws Exception {
+        Map<String, String> decoded = SegmentProtocol.decode("{\"1\":\"Ingeniera\"}", segments, objectMapper);
+
+        assertEquals(Map.of("/basics/label", "Ingeniera"), decoded);
+    }
+
+    @Test
+    void decode_ShouldFallBackToResumeShapedReplies() throws Exception {
+        String reply = "{\"basics\":{\"label\":\"Ingeniera\"},\"work\":[{\"highlights\":[\"Línea\"]}]}";
+
+        Map<String, String> decoded = SegmentProtocol.decode(reply, segments, objectMapper);
+
+        assertEquals(Map.of("/basics/label", "Ingeniera", "/work/0/highlights/0", "Línea"), decoded);
+    }
+
+    @Test
+    void decode_ShouldSkipFencesAndTextAroundTheObject() throws Exception {
+        String reply = "Sure! Here it is:\n```json\n{\"2\":\"Línea\",\"3\":\"extra\",\"1\":{\"nested\":true}}\n```\nDone.";
+
+        Map<String, String> decoded = SegmentProtocol.decode(reply, segments, objectMapper);
+
+        assertEquals(Map.of("/work/0/highlights/0", "Línea"), decoded);
+    }
+
+    @Test
+    void decode_WhenReplyIsTruncated_ShouldFail() {
+        assertThrows(JsonProcessingException.class,
+                () -> SegmentProtocol.decode("```json\n{\"1\":\"Ingen", segments, objectMapper));
+        assertThrows(JsonProcessingException.class,
+                () -> SegmentProtocol.decode("no json here", segments, objectMapper));
+    }
+
+    @Test
+    void readResume_ShouldBindFencedReplyInOnePass() throws Exception {
+        ResumeDto resume = ReplyParser.readResume("```json\n{\"basics\":{\"label\":\"Ingeniera\"}}\n```", objectMapper);
+
+        assertEquals("Ingeniera", resume.getBasics().getLabel());
+    }
+
+    @Test
+    void translateResume_ShouldSendOnlyTranslatableStrings() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn("```json\n{\"1\":\"Ingeniera\",\"2\":\"Lidera el equipo\"}\n```");
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(response);
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        TranslationService service = gemini.service(properties);
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .name("Jane")
+                        .label("Engineer")
+                        .email("jane@example.com")
+                        .url("https://jane.dev")
+                        .image("data:image/png;base64,iVBORw0KGgo=")
+                        .summary("Leads the team")
+                        .build())
+                .build();
+
+        ResumeDto result = service.translateResume(TranslationRequestDto.builder()
+                .resumeData(resume)
+                .targetLanguage("es")
+                .build());
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(mockModels).generateContent(anyString(), prompt.capture(), any());
+        assertTrue(prompt.getValue().contains("{\"1\":\"Engineer\",\"2\":\"Leads the team\"}"));
+        assertFalse(prompt.getValue().contains("jane@example.com"));
+        assertFalse(prompt.getValue().contains("base64"));
+        assertFalse(prompt.getValue().contains("\"basics\""));
+
+        assertEquals("Ingeniera", result.getBasics().getLabel());
+        assertEquals("Lidera el equipo", result.getBasics().getSummary());
+        assertEquals("https://jane.dev", result.getBasics().getUrl());
+        assertEquals("data:image/png;base64,iVBORw0KGgo=", result.getBasics().getImage());
+    }
+}
@@ -0,0 +1,165 @@
+package salt.backend.services;
+
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneCallBetweenConcurrentCallersWithTheSameKey() throws Exception {
+        SingleFlight<String, List<String>> singleFlight = new SingleFlight<>(ArrayList::new);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("resume|es", () -> {
+                calls.incrementAndGet();
+                release.await();
+                return new ArrayList<>(List.of("Hola"));
+            })));
+        }
+        waitUntil(() -> singleFlight.stats().coalesced() == 4);
+        release.countDown();
+
+        List<List<String>> received = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            received.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertTrue(received.stream().allMatch(List.of("Hola")::equals));
+        // Followers get their own copy
+        assertEquals(5, received.stream().map(System::identityHashCode).distinct().count());
+        assertEquals(new SingleFlight.Stats(1, 4, 0), singleFlight.stats());
+    }
+
+    @Test
+    void execute_ShouldPropagateFailureToEveryCallerAndReleaseTheKey() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(value -> value);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+            release.await();
+            throw new IllegalStateException("All API keys failed");
+        }));
+        waitUntil(() -> singleFlight.stats().inFlight() == 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("k", () -> "unused"));
+        waitUntil(() -> singleFlight.stats().coalesced() == 1);
+        release.countDown();
+
+        assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, follower::get).getCause());
+        assertEquals(0, singleFlight.stats().inFlight());
+        assertEquals("fresh", singleFlight.execute("k", () -> "fresh"));
+    }
+
+    @Test
+    void execute_WhenCallThrowsAnError_ShouldStillReleaseFollowers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(value -> value);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+            release.await();
+            throw new OutOfMemoryError("Java heap space");
+        }));
+        waitUntil(() -> singleFlight.stats().inFlight() == 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("k", () -> "unused"));
+        waitUntil(() -> singleFlight.stats().coalesced() == 1);
+        release.countDown();
+
+        assertInstanceOf(OutOfMemoryError.class, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.stats().inFlight());
+    }
+
+    @Test
+    void execute_ShouldStopFollowerWaitingAtItsOwnDeadline() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(value -> value);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+            release.await();
+            return "Hola";
+        }));
+        waitUntil(() -> singleFlight.stats().inFlight() == 1);
+
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> RequestDeadline.after(Duration.ofMillis(50))
+                .call(() -> singleFlight.execute("k", () -> "unused")));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        release.countDown();
+        assertEquals("Hola", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void translateResume_ShouldSendIdenticalConcurrentRequestsToGeminiOnce() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            release.await();
+            GenerateContentResponse response = mock(GenerateContentResponse.class);
+            when(response.text()).thenReturn("{\"1\":\"Ingeniera\"}");
+            return response;
+        });
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        properties.getMemory().setEnabled(false);
+        TranslationService service = gemini.service(properties);
+        TranslationRequestDto request = TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder().basics(ResumeDto.Basics.builder().label("Engineer").build()).build())
+                .targetLanguage("es")
+                .build();
+
+        List<Future<ResumeDto>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> service.translateResume(request)));
+        }
+        waitUntil(() -> service.coalescingStats().coalesced() == 2);
+        release.countDown();
+
+        for (Future<ResumeDto> result : results) {
+            assertEquals("Ingeniera", result.get(5, TimeUnit.SECONDS).getBasics().getLabel());
+        }
+        verify(mockModels, times(1)).generateContent(anyString(), anyString(), any());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.genai.Models;
+import com.google.genai.ResponseStream;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StreamingTranslationTest {
+
+    private Models mockModels;
+    private TranslationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockGemini gemini = new MockGemini();
+        mockModels = gemini.models();
+
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        service = gemini.service(properties);
+    }
+
+    @Test
+    void parser_ShouldEmitSegmentsSplitAcrossChunksAndIgnoreFences() throws Exception {
+        Map<String, String> received = new LinkedHashMap<>();
+        StreamingSegmentParser parser = new StreamingSegmentParser(received::put);
+
+        parser.feed("```json\n{\"1\":\"Hola");
+        assertTrue(received.isEmpty());
+        parser.feed(" mundo\",\"2\"");
+        parser.feed(":\"Adiós\\n\"}\n```");
+
+        assertEquals(Map.of("1", "Hola mundo", "2", "Adiós\n"), received);
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void translateResumeStream_ShouldEmitEachSectionAsSoonAsItIsComplete() throws Exception {
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("Jane").label("Engineer").build())
+                .work(List.of(ResumeDto.Work.builder().name("Acme").position("Lead").summary("Runs things").build()))
+                .build();
+
+        List<String> events = new ArrayList<>();
+        List<String> chunks = List.of("{\"1\":\"Ingeniera\",", "\"2\":\"Jefa\",", "\"3\":\"Dirige cosas\"}");
+        when(mockModels.generateContentStream(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            // The basics section must already be out before the work section has streamed
+            events.add("stream-opened");
+            return streamOf(chunks);
+        });
+
+        ResumeDto result = service.translateResumeStream(request(resume), (section, value) ->
+                events.add(section + ":" + value.toString()));
+
+        assertEquals(List.of(
+                "stream-opened",
+                "basics:{\"name\":\"Jane\",\"label\":\"Ingeniera\",\"image\":null,\"email\":null,\"phone\":null,"
+                        + "\"url\":null,\"summary\":null,\"location\":null,\"profiles\":null}",
+                "work:[{\"name\":\"Acme\",\"position\":\"Jefa\",\"url\":null,\"startDate\":null,\"endDate\":null,"
+                        + "\"summary\":\"Dirige cosas\",\"highlights\":null}]"
+        ), events);
+        assertEquals("Dirige cosas", result.getWork().get(0).getSummary());
+    }
+
+    @Test
+    void translateResumeStream_ShouldEmitRememberedSectionsBeforeCallingProvider() throws Exception {
+        when(mockModels.generateContentStream(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> streamOf(List.of("{\"1\":\"Ingeniera\",\"2\":\"Dirige cosas\"}")));
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().label("Engineer").build())
+                .work(List.of(ResumeDto.Work.builder().summary("Runs things").build()))
+                .build();
+        service.translateResumeStream(request(resume), (section, value) -> { });
+
+        ResumeDto edited = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().label("Engineer").build())
+                .work(List.of(ResumeDto.Work.builder().summary("Runs the team").build()))
+                .build();
+        List<String> sections = new ArrayList<>();
+        when(mockModels.generateContentStream(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            sections.add("stream-opened");
+            // Model forgets to answer: the section still arrives, with the source text
+            return streamOf(List.of("{}"));
+        });
+
+        ResumeDto result = service.translateResumeStream(request(edited), (section, value) -> sections.add(section));
+
+        assertEquals(List.of("basics", "stream-opened", "work"), sections);
+        assertEquals("Ingeniera", result.getBasics().getLabel());
+        assertEquals("Runs the team", result.getWork().get(0).getSummary());
+    }
+
+    @Test
+    void translateResumeStream_WhenReplyIsIncomplete_ShouldNeitherCacheNorRememberIt() throws Exception {
+        MockGemini gemini = new MockGemini();
+        TranslationService cachingService = gemini.service(new TranslationProperties());
+        // The model drops segment 2 every time
+        when(gemini.models().generateContentStream(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> streamOf(List.of("{\"1\":\"Ingeniera\"}")));
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().label("Engineer").build())
+                .work(List.of(ResumeDto.Work.builder().summary("Runs things").build()))
+                .build();
+
+        cachingService.translateResumeStream(request(resume), (section, value) -> { });
+        ResumeDto again = cachingService.translateResumeStream(request(resume), (section, value) -> { });
+
+        ArgumentCaptor<String> prompts = ArgumentCaptor.forClass(String.class);
+        verify(gemini.models(), times(2)).generateContentStream(anyString(), prompts.capture(), any());
+        assertTrue(prompts.getAllValues().get(1).contains("Engineer"), "partial reply must not be remembered");
+        assertEquals("Runs things", again.getWork().get(0).getSummary());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseStream<GenerateContentResponse> streamOf(List<String> chunks) {
+        List<GenerateContentResponse> responses = new ArrayList<>();
+        for (String chunk : chunks) {
+            GenerateContentResponse response = mock(GenerateContentResponse.class);
+            when(response.text()).thenReturn(chunk);
+            responses.add(response);
+        }
+        ResponseStream<GenerateContentResponse> stream = mock(ResponseStream.class);
+        when(stream.iterator()).thenReturn(responses.iterator());
+        return stream;
+    }
+
+    private static TranslationRequestDto request(ResumeDto resume) {
+        return TranslationRequestDto.builder().resumeData(resume).targetLanguage("es").build();
+    }
+}
@@ -0,0 +1,158 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TranslationCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void get_ShouldReturnIndependentCopyOfCachedResume() {
+        TranslationCache cache = new TranslationCache(10, Duration.ofMinutes(5), objectMapper);
+        cache.put("k", resume("Resumen"));
+
+        ResumeDto first = cache.get("k").orElseThrow();
+        first.getBasics().setSummary("mutated");
+        ResumeDto second = cache.get("k").orElseThrow();
+
+        assertEquals("Resumen", second.getBasics().getSummary());
+        assertEquals(new TranslationCache.Stats(2, 0, 0, 1, 0), cache.stats());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntryWhenFull() {
+        TranslationCache cache = new TranslationCache(2, Duration.ofMinutes(5), objectMapper);
+        cache.put("a", resume("a"));
+        cache.put("b", resume("b"));
+        cache.get("a");
+
+        cache.put("c", resume("c"));
+
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntriesBeyondTheByteBound() throws Exception {
+        int size = objectMapper.writeValueAsBytes(resume("a")).length;
+        TranslationCache cache = new TranslationCache(10, 2L * size, Duration.ofMinutes(5), objectMapper, null);
+        cache.put("a", resume("a"));
+        cache.put("b", resume("b"));
+        cache.get("a");
+
+        cache.put("c", resume("c"));
+        cache.put("large", resume("a".repeat(3 * size)));
+
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertTrue(cache.get("large").isEmpty());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void get_ShouldExpireEntriesAfterTtl() {
+        MutableClock clock = new MutableClock();
+        TranslationCache cache = new TranslationCache(10, Duration.ofSeconds(30), objectMapper, clock);
+        cache.put("k", resume("Resumen"));
+
+        clock.advance(Duration.ofSeconds(31));
+
+        assertTrue(cache.get("k").isEmpty());
+        assertEquals(new TranslationCache.Stats(0, 1, 1, 0, 0), cache.stats());
+    }
+
+    @Test
+    void fingerprint_ShouldIgnoreNullFieldsAndBuildOrder() {
+        ResumeDto withNulls = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().summary("Developer").name("Jane").build())
+                .work(null)
+                .build();
+        ResumeDto withoutNulls = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("Jane").summary("Developer").build())
+                .build();
+
+        assertEquals(ResumeFingerprint.of(withNulls), ResumeFingerprint.of(withoutNulls));
+        assertEquals(ResumeFingerprint.translationKey(withNulls, " ES ", "m"),
+                ResumeFingerprint.translationKey(withoutNulls, "es", "m"));
+        assertNotEquals(ResumeFingerprint.translationKey(withNulls, "es", "m"),
+                ResumeFingerprint.translationKey(withNulls, "de", "m"));
+    }
+
+    @Test
+    void translateResume_ShouldServeRepeatRequestsFromCache() throws Exception {
+        MockGemini gemini = new MockGemini();
+        Models mockModels = gemini.models();
+
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn("{\"basics\":{\"name\":\"Jane\",\"summary\":\"Desarrolladora\"}}");
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(response);
+
+        TranslationService service = gemini.service(new TranslationProperties());
+        TranslationRequestDto request = TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder()
+                        .basics(ResumeDto.Basics.builder().name("Jane").summary("Developer").build())
+                        .work(List.of())
+                        .build())
+                .targetLanguage("es")
+                .build();
+
+        ResumeDto first = service.translateResume(request);
+        ResumeDto second = service.translateResume(request);
+
+        assertEquals("Desarrolladora", first.getBasics().getSummary());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(mockModels, times(1)).generateContent(anyString(), anyString(), any());
+        assertEquals(1, service.cacheStats().hits());
+    }
+
+    private static ResumeDto resume(String summary) {
+        return ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder().name("Jane").summary(summary).build())
+                .build();
+    }
+
+    static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
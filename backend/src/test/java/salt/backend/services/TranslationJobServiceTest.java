@@ -0,0 +1,137 @@
+package salt.backend.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationJobDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TranslationJobServiceTest {
+
+    private final TranslationService translationService = mock(TranslationService.class);
+    private final TranslationCacheTest.MutableClock clock = new TranslationCacheTest.MutableClock();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TranslationLimiter limiter = new TranslationLimiter(executor, 4, 10, Duration.ofSeconds(5));
+    private TranslationJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldReturnImmediatelyAndExposeResultWhenDone() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ResumeDto translated = ResumeDto.builder().basics(ResumeDto.Basics.builder().label("Ingeniera").build()).build();
+        when(translationService.translateResume(any(TranslationRequestDto.class))).thenAnswer(invocation -> {
+            release.await();
+            return translated;
+        });
+        jobService = new TranslationJobService(translationService, limiter, properties(1, 1), clock);
+
+        TranslationJobDto submitted = jobService.submit(request());
+
+        assertNotEquals(TranslationJobDto.Status.SUCCEEDED, submitted.getStatus());
+        assertNull(submitted.getResult());
+        release.countDown();
+        waitUntil(() -> jobService.find(submitted.getId()).orElseThrow().getStatus() == TranslationJobDto.Status.SUCCEEDED);
+        TranslationJobDto done = jobService.find(submitted.getId()).orElseThrow();
+        assertEquals("Ingeniera", done.getResult().getBasics().getLabel());
+        assertNotNull(done.getCompletedAt());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenQueueIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(translationService.translateResume(any(TranslationRequestDto.class))).thenAnswer(invocation -> {
+            release.await();
+            return ResumeDto.builder().build();
+        });
+        jobService = new TranslationJobService(translationService, limiter, properties(1, 1), clock);
+
+        TranslationJobDto running = jobService.submit(request());
+        // The job's translation holds a slot of the shared limiter
+        waitUntil(() -> limiter.inFlight() == 1);
+        assertEquals(TranslationJobDto.Status.RUNNING, jobService.find(running.getId()).orElseThrow().getStatus());
+        jobService.submit(request());
+
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(request()));
+        release.countDown();
+    }
+
+    @Test
+    void find_ShouldForgetFinishedJobsAfterRetention() throws Exception {
+        when(translationService.translateResume(any(TranslationRequestDto.class)))
+                .thenThrow(new RuntimeException("All API keys failed"));
+        jobService = new TranslationJobService(translationService, limiter, properties(1, 1), clock);
+
+        TranslationJobDto submitted = jobService.submit(request());
+        waitUntil(() -> jobService.find(submitted.getId()).orElseThrow().getStatus() == TranslationJobDto.Status.FAILED);
+        assertEquals("Translation failed", jobService.find(submitted.getId()).orElseThrow().getError());
+
+        clock.advance(Duration.ofMinutes(16));
+
+        assertTrue(jobService.find(submitted.getId()).isEmpty());
+    }
+
+    @Test
+    void find_ShouldKeepOnlyTheMostRecentlyFinishedJobs() throws Exception {
+        when(translationService.translateResume(any(TranslationRequestDto.class))).thenReturn(ResumeDto.builder().build());
+        TranslationProperties properties = properties(1, 10);
+        properties.getJobs().setMaxRetained(2);
+        jobService = new TranslationJobService(translationService, limiter, properties, clock);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String id = jobService.submit(request()).getId();
+            waitUntil(() -> jobService.find(id).map(TranslationJobDto::getStatus).orElse(null)
+                    == TranslationJobDto.Status.SUCCEEDED);
+            ids.add(id);
+        }
+
+        assertTrue(jobService.find(ids.get(0)).isEmpty());
+        assertTrue(jobService.find(ids.get(1)).isPresent());
+        assertTrue(jobService.find(ids.get(2)).isPresent());
+    }
+
+    private static TranslationProperties properties(int workers, int queueCapacity) {
+        TranslationProperties properties = new TranslationProperties();
+        properties.getJobs().setWorkers(workers);
+        properties.getJobs().setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private static TranslationRequestDto request() {
+        return TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder().basics(ResumeDto.Basics.builder().label("Engineer").build()).build())
+                .targetLanguage("es")
+                .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package salt.backend.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslationLimiterTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldNeverRunMoreThanMaxInFlight() {
+        TranslationLimiter limiter = new TranslationLimiter(executor, 3, 100, Duration.ofSeconds(5));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int task = i;
+            futures.add(limiter.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                running.decrementAndGet();
+                return task;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).join());
+        }
+        assertEquals(3, peak.get());
+        assertEquals(0, limiter.inFlight());
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenQueueIsFull() throws Exception {
+        TranslationLimiter limiter = new TranslationLimiter(executor, 1, 1, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = limiter.submit(() -> {
+            release.await();
+            return "done";
+        });
+        waitUntil(() -> limiter.inFlight() == 1);
+        CompletableFuture<String> waiting = limiter.submit(() -> "queued");
+
+        CompletableFuture<String> rejected = limiter.submit(() -> "rejected");
+
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        release.countDown();
+        assertEquals("done", running.join());
+        assertEquals("queued", waiting.join());
+    }
+
+    @Test
+    void submit_WithNoQueue_ShouldRunWhileSlotsAreFreeAndRejectOnlyWhenFull() throws Exception {
+        TranslationLimiter limiter = new TranslationLimiter(executor, 2, 0, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = limiter.submit(() -> {
+            release.await();
+            return "first";
+        });
+        CompletableFuture<String> second = limiter.submit(() -> {
+            release.await();
+            return "second";
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, () -> limiter.submit(() -> "third").join());
+
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(2, limiter.inFlight());
+        assertEquals(0, limiter.queued());
+        release.countDown();
+        assertEquals("first", first.join());
+        assertEquals("second", second.join());
+        assertEquals("free", limiter.submit(() -> "free").join());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenNoSlotFreesUpInTime() throws Exception {
+        TranslationLimiter limiter = new TranslationLimiter(executor, 1, 10, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        limiter.submit(() -> release.await(5, TimeUnit.SECONDS));
+        waitUntil(() -> limiter.inFlight() == 1);
+
+        CompletionException error = assertThrows(CompletionException.class, () -> limiter.submit(() -> "late").join());
+
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        release.countDown();
+    }
+
+    @Test
+    void submit_ShouldPropagateTranslationFailures() {
+        TranslationLimiter limiter = new TranslationLimiter(executor, 1, 10, Duration.ofSeconds(5));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> limiter.submit(() -> { throw new Exception("All API keys failed"); }).join());
+
+        assertEquals("All API keys failed", error.getCause().getMessage());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
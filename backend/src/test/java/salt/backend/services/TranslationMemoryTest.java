@@ -0,0 +1,128 @@
+package salt.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salt.backend.config.TranslationProperties;
+import salt.backend.dto.ResumeDto;
+import salt.backend.dto.TranslationRequestDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TranslationMemoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Models mockModels;
+    private TranslationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockGemini gemini = new MockGemini();
+        mockModels = gemini.models();
+
+        // Disable the whole-resume cache so every call exercises the segment path
+        TranslationProperties properties = new TranslationProperties();
+        properties.getCache().setEnabled(false);
+        service = gemini.service(properties);
+    }
+
+    @Test
+    void extract_ShouldSkipNamesContactDataDatesAndImage() {
+        ResumeDto resume = ResumeDto.builder()
+                .basics(ResumeDto.Basics.builder()
+                        .name("Jane")
+                        .label("Engineer")
+                        .email("jane@example.com")
+                        .image("data:image/png;base64,AAAA")
+                        .build())
+                .work(List.of(ResumeDto.Work.builder()
+                        .name("Acme")
+                        .position("Lead")
+                        .startDate("2020-01")
+                        .highlights(List.of("Shipped things", " "))
+                        .build()))
+                .build();
+
+        JsonNode tree = objectMapper.valueToTree(resume);
+        List<ResumeSegments.Segment> segments = ResumeSegments.extract(tree);
+
+        assertEquals(List.of(
+                new ResumeSegments.Segment("/basics/label", "Engineer"),
+                new ResumeSegments.Segment("/work/0/position", "Lead"),
+                new ResumeSegments.Segment("/work/0/highlights/0", "Shipped things")
+        ), segments);
+    }
+
+    @Test
+    void get_ShouldMatchSegmentsIgnoringSurroundingWhitespace() {
+        TranslationMemory memory = new TranslationMemory(10);
+        memory.put("Team  lead", "es", "Líder de equipo");
+
+        assertEquals("Líder de equipo", memory.get(" Team lead ", "ES").orElseThrow());
+        assertTrue(memory.get("Team lead", "de").isEmpty());
+        assertEquals(new TranslationMemory.Stats(1, 1, 1, 0), memory.stats());
+    }
+
+    @Test
+    void translateResume_ShouldOnlySendSegmentsMissingFromMemory() throws Exception {
+        respondWith("""
+                {"1":"Ingeniera","2":"Construye cosas"}
+                """);
+        service.translateResume(request(ResumeDto.Basics.builder()
+                .name("Jane").label("Engineer").summary("Builds things").build()));
+
+        respondWith("""
+                {"1":"Diseña sistemas"}
+                """);
+        ResumeDto second = service.translateResume(request(ResumeDto.Basics.builder()
+                .name("John").label("Engineer").summary("Designs systems").build()));
+
+        ArgumentCaptor<String> prompts = ArgumentCaptor.forClass(String.class);
+        verify(mockModels, times(2)).generateContent(anyString(), prompts.capture(), any());
+        String secondPrompt = prompts.getAllValues().get(1);
+        assertFalse(secondPrompt.contains("Engineer"), "Remembered segment must not be sent again");
+        assertTrue(secondPrompt.contains("Designs systems"));
+
+        assertEquals("John", second.getBasics().getName());
+        assertEquals("Ingeniera", second.getBasics().getLabel());
+        assertEquals("Diseña sistemas", second.getBasics().getSummary());
+    }
+
+    @Test
+    void translateResume_ShouldSkipProviderWhenEverySegmentIsRemembered() throws Exception {
+        respondWith("""
+                {"1":"Ingeniera","2":"Construye cosas"}
+                """);
+        service.translateResume(request(ResumeDto.Basics.builder()
+                .name("Jane").label("Engineer").summary("Builds things").build()));
+
+        ResumeDto second = service.translateResume(request(ResumeDto.Basics.builder()
+                .name("John").label("Engineer").summary("Builds things").build()));
+
+        verify(mockModels, times(1)).generateContent(anyString(), anyString(), any());
+        assertEquals("Construye cosas", second.getBasics().getSummary());
+        assertEquals("John", second.getBasics().getName());
+    }
+
+    private void respondWith(String json) {
+        GenerateContentResponse response = mock(GenerateContentResponse.class);
+        when(response.text()).thenReturn(json);
+        when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(response);
+    }
+
+    private static TranslationRequestDto request(ResumeDto.Basics basics) {
+        return TranslationRequestDto.builder()
+                .resumeData(ResumeDto.builder().basics(basics).build())
+                .targetLanguage("es")
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package salt.backend.services;
+
+import com.google.genai.errors.ClientException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranslationMetrics metrics = new TranslationMetrics(registry, "gemini-2.5-flash");
+
+    @Test
+    void recordProviderFailure_ShouldCountRateLimitsSeparatelyFromErrors() {
+        metrics.recordProviderFailure(1, new ClientException(429, "RESOURCE_EXHAUSTED", "quota"));
+        metrics.recordProviderFailure(1, new IllegalStateException("boom"));
+        metrics.recordProviderSuccess(1);
+
+        assertEquals(1, providerCalls("rate_limited"));
+        assertEquals(1, providerCalls("error"));
+        assertEquals(1, providerCalls("success"));
+    }
+
+    @Test
+    void recordRequest_ShouldBucketLanguagesOutsideTheAllowlist() {
+        TranslationMetrics allowlisted = new TranslationMetrics(registry, "gemini-2.5-flash", List.of("pt-BR", "es"));
+
+        allowlisted.recordRequest(" PT-br ", TimeUnit.MILLISECONDS.toNanos(5), true);
+        allowlisted.recordRequest("<script>", TimeUnit.MILLISECONDS.toNanos(5), true);
+        allowlisted.recordRequest("xx-abcdefgh", TimeUnit.MILLISECONDS.toNanos(5), true);
+
+        assertEquals(1, registry.get("translation.requests").tag("language", "pt-br").timer().count());
+        assertEquals(2, registry.get("translation.requests").tag("language", "other").timer().count());
+        assertEquals(2, registry.find("translation.requests").timers().size());
+    }
+
+    private double providerCalls(String outcome) {
+        return registry.get("translation.provider.calls").tag("key", "1").tag("outcome", outcome).counter().count();
+    }
+}
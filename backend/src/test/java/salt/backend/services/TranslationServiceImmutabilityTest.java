@@ -1,16 +1,15 @@
 package salt.backend.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.genai.Client;
 import com.google.genai.Models;
 import com.google.genai.types.GenerateContentResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import salt.backend.config.TranslationProperties;
 import salt.backend.dto.ResumeDto;
 import salt.backend.dto.TranslationRequestDto;
 
-import java.lang.reflect.Field;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,20 +22,14 @@ import static org.mockito.Mockito.when;
 class TranslationServiceImmutabilityTest {
 
     private TranslationService translationService;
-    private Client mockClient;
+    private MockGemini gemini;
     private Models mockModels;
 
     @BeforeEach
     void setUp() throws Exception {
-        // We don't need a real API key for these tests because we mock createClient
-        System.setProperty("GOOGLE_API_KEY", "dummy-key");
-        mockClient = mock(Client.class);
-        mockModels = mock(Models.class);
-        
-        // Mock the chain: client.models.generateContent(...)
-        Field modelsField = Client.class.getDeclaredField("models");
-        modelsField.setAccessible(true);
-        modelsField.set(mockClient, mockModels);
+        // We don't need a real API key for these tests because the fixture mocks the client
+        gemini = new MockGemini();
+        mockModels = gemini.models();
     }
 
     @Test
@@ -72,12 +65,7 @@ class TranslationServiceImmutabilityTest {
         when(mockModels.generateContent(anyString(), anyString(), any())).thenReturn(mockResponse);
 
         // Setup service with mock client
-        TranslationService serviceWithMock = new TranslationService() {
-            @Override
-            protected Client createClient(String apiKey) {
-                return mockClient;
-            }
-        };
+        TranslationService serviceWithMock = gemini.service(new TranslationProperties());
 
         // Act
         ResumeDto result = serviceWithMock.translateResume(request);
@@ -91,9 +91,9 @@ class TranslationServiceTest {
                     .targetLanguage("fr")
                     .build();
 
-            assertThrows(Exception.class, () -> {
-                translationService.translateResume(minimalRequest);
-            });
+            // A name alone has nothing to translate, so no provider call is made
+            ResumeDto result = assertDoesNotThrow(() -> translationService.translateResume(minimalRequest));
+            assertEquals("Jane Smith", result.getBasics().getName());
         } else {
             // Skip test if API key is not available
             System.out.println("Skipping test - GOOGLE_API_KEY not set");
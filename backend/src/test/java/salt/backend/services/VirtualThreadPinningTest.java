@@ -0,0 +1,89 @@
+package salt.backend.services;
+
+import com.google.genai.Models;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import salt.backend.config.TranslationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs in its own surefire execution with a single virtual-thread carrier
+ * ({@code -Djdk.virtualThreadScheduler.parallelism=1}), where a caller pinned while waiting for a
+ * connection would leave no carrier for the callers holding one.
+ */
+@Tag("pinning")
+class VirtualThreadPinningTest {
+
+    private static final TranslationProvider.Request REQUEST =
+            new TranslationProvider.Request("prompt", "{\"1\":\"Engineer\"}", "es");
+
+    @Test
+    void translate_FromManyVirtualThreads_ShouldNotStarveCallersHoldingAConnection() throws Exception {
+        ConnectionPool connections = new ConnectionPool(2);
+        Models models = mock(Models.class);
+        when(models.generateContent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            connections.lease();
+            try {
+                // Connect and wait for the reply outside the pool lock, like the SDK's HTTP client
+                Thread.sleep(20);
+                return MockGemini.reply("{\"1\":\"Ingeniero\"}");
+            } finally {
+                connections.release();
+            }
+        });
+        TranslationProperties properties = new TranslationProperties();
+        properties.getRateLimit().setEnabled(false);
+        GeminiTranslationProvider provider = new GeminiTranslationProvider(List.of("key-a"),
+                key -> MockGemini.clientFor(models), properties,
+                new TranslationMetrics(new SimpleMeterRegistry(), "test-model"));
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> replies = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                replies.add(callers.submit(() -> provider.translate(REQUEST)));
+            }
+            for (Future<String> reply : replies) {
+                assertEquals("{\"1\":\"Ingeniero\"}", reply.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            provider.close();
+        }
+    }
+
+    /**
+     * Hands out connections under a monitor the way Apache HttpClient 4's pool does, so a virtual
+     * thread waiting for one is pinned to its carrier on JDK 21.
+     */
+    private static final class ConnectionPool {
+        private int available;
+
+        private ConnectionPool(int size) {
+            this.available = size;
+        }
+
+        synchronized void lease() throws InterruptedException {
+            while (available == 0) {
+                wait();
+            }
+            available--;
+        }
+
+        synchronized void release() {
+            available++;
+            notifyAll();
+        }
+    }
+}
@@ -70,4 +70,35 @@ describe('translateText with mocked backend', () => {
       'Translation failed: 500 Internal Server Error',
     )
   })
+
+  test('sends image references but leaves data URI photos out of the request', async () => {
+    const mockFetch = vi
+      .fn()
+      .mockResolvedValue({
+        ok: true,
+        status: 200,
+        statusText: 'OK',
+        json: async () => ({ basics: { name: 'Juan Doe' } }),
+      } as unknown as Response) as unknown as typeof globalThis.fetch
+
+    vi.stubGlobal('fetch', mockFetch)
+
+    const payload = {
+      resumeData: {
+        basics: {
+          name: 'John Doe',
+          image: 'http://localhost:8080/api/images/abc',
+          uploadedImage: 'data:image/jpeg;base64,/9j/4AAQ',
+        },
+      },
+      targetLanguage: 'es',
+    } as any
+
+    await translateText(payload)
+
+    const body = JSON.parse((mockFetch as any).mock.calls[0][1].body)
+    expect(body.resumeData.basics.image).toBe('http://localhost:8080/api/images/abc')
+    expect(body.resumeData.basics.uploadedImage).toBeUndefined()
+    expect(payload.resumeData.basics.uploadedImage).toBe('data:image/jpeg;base64,/9j/4AAQ')
+  })
 })
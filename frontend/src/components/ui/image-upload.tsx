@@ -3,9 +3,10 @@ import { Image as ImageIcon, Upload, X, Loader2 } from 'lucide-react'
 import { Button } from './button'
 import { Label } from './label'
 import { compressImage, formatFileSize } from '@/utils/imageUtils'
+import { uploadImage } from '@/imageStore'
 
 interface ImageUploadProps {
-  value?: string // Base64 data URI
+  value?: string // /api/images reference URL, or a base64 data URI when the upload failed
   onChange: (value: string | undefined) => void
   placeholder?: string
   className?: string
@@ -25,6 +26,20 @@ export function ImageUpload({
     originalSize: number
     compressedSize: number
   } | null>(null)
+  const [uploadFailed, setUploadFailed] = useState(false)
+
+  // Prefer the short /api/images reference; keep the data URI in the browser if the upload fails
+  const storeImage = async (image: Blob, dataUri: string): Promise<string> => {
+    try {
+      const url = await uploadImage(image)
+      setUploadFailed(false)
+      return url
+    } catch (error) {
+      console.warn('Image upload failed, keeping the image in the browser:', error)
+      setUploadFailed(true)
+      return dataUri
+    }
+  }
 
   const handleFileSelect = async (file: File) => {
     // File validation
@@ -39,7 +54,7 @@ export function ImageUpload({
 
     try {
       const result = await compressImage(file)
-      onChange(result.dataUri)
+      onChange(await storeImage(result.blob, result.dataUri))
       setCompressionInfo({
         originalSize: result.originalSize,
         compressedSize: result.compressedSize,
@@ -48,10 +63,10 @@ export function ImageUpload({
       console.error('Image compression failed:', error)
       // Fallback to original image if compression fails
       const reader = new FileReader()
-      reader.onload = (e) => {
+      reader.onload = async (e) => {
         const result = e.target?.result as string
         if (result) {
-          onChange(result)
+          onChange(await storeImage(file, result))
         }
       }
       reader.onerror = () => {
@@ -90,6 +105,7 @@ export function ImageUpload({
   const handleRemove = () => {
     onChange(undefined)
     setCompressionInfo(null)
+    setUploadFailed(false)
     if (fileInputRef.current) {
       fileInputRef.current.value = ''
     }
@@ -131,6 +147,12 @@ export function ImageUpload({
             </p>
           )}
 
+          {uploadFailed && (
+            <p className="text-xs text-muted-foreground">
+              Could not upload the image, so it is kept in this browser only
+            </p>
+          )}
+
           {/* Upload New Button */}
           <Button
             type="button"
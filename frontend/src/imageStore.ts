@@ -0,0 +1,55 @@
+import type { ResumeData } from "@/types"
+
+const BACKEND_URL = import.meta.env.VITE_BACKEND_URL || 'http://localhost:8080'
+
+// Response of POST /api/images
+interface StoredImage {
+  hash: string
+  url: string
+  contentType: string
+  size: number
+}
+
+/**
+ * Uploads an image to the backend's content-addressed store and returns the URL of its
+ * /api/images/{hash} reference, so the resume carries a short URL instead of the image itself.
+ */
+export async function uploadImage(image: Blob): Promise<string> {
+  const response = await fetch(`${BACKEND_URL}/api/images`, {
+    method: 'POST',
+    headers: {
+      'Content-Type': image.type || 'application/octet-stream',
+    },
+    body: image,
+  })
+
+  if (!response.ok) {
+    throw new Error(`Image upload failed: ${response.status} ${response.statusText}`)
+  }
+
+  const stored: StoredImage = await response.json()
+  return BACKEND_URL + stored.url
+}
+
+export function isDataUri(value?: string): boolean {
+  return !!value && value.trim().toLowerCase().startsWith('data:')
+}
+
+/**
+ * Drops photos kept as data URIs (older resumes, or an upload that failed) before the resume is sent
+ * to the backend; they are never translated and the caller puts the original photo back afterwards.
+ */
+export function withoutInlineImages(resumeData: ResumeData): ResumeData {
+  const basics = resumeData.basics
+  if (!basics || (!isDataUri(basics.image) && !isDataUri(basics.uploadedImage))) {
+    return resumeData
+  }
+  return {
+    ...resumeData,
+    basics: {
+      ...basics,
+      image: isDataUri(basics.image) ? undefined : basics.image,
+      uploadedImage: isDataUri(basics.uploadedImage) ? undefined : basics.uploadedImage,
+    },
+  }
+}
@@ -41,7 +41,7 @@ export interface Basics {
   summary?: string
   location?: Location
   profiles?: Array<Profile>
-  uploadedImage?: string // Base64 data URI for uploaded images
+  uploadedImage?: string // /api/images reference URL, or a base64 data URI when the upload failed
   enabled: boolean
 }
 
@@ -1,5 +1,6 @@
 import { useMutation } from "@tanstack/react-query"
 import type { ResumeData } from "@/types"
+import { withoutInlineImages } from "@/imageStore"
 
 // Types for the translation request and response
 interface TranslationRequest {
@@ -17,7 +18,7 @@ export async function translateText(payload: TranslationRequest): Promise<Resume
     headers: {
       'Content-Type': 'application/json',
     },
-    body: JSON.stringify(payload),
+    body: JSON.stringify({ ...payload, resumeData: withoutInlineImages(payload.resumeData) }),
   })
 
   if (!response.ok) {
@@ -14,7 +14,7 @@ export function formatFileSize(bytes: number): string {
 export async function compressImage(
   file: File,
   targetSizeBytes: number = 250 * 1024, // 250KB default
-): Promise<{ dataUri: string; originalSize: number; compressedSize: number }> {
+): Promise<{ dataUri: string; blob: Blob; originalSize: number; compressedSize: number }> {
   return new Promise((resolve, reject) => {
     const originalSize = file.size
     const img = new Image()
@@ -75,6 +75,7 @@ export async function compressImage(
                 reader.onload = () => {
                   resolve({
                     dataUri: reader.result as string,
+                    blob,
                     originalSize,
                     compressedSize: blob.size,
                   })
@@ -104,6 +105,7 @@ export async function compressImage(
                   reader.onload = () => {
                     resolve({
                       dataUri: reader.result as string,
+                      blob,
                       originalSize,
                       compressedSize: blob.size,
                     })